@@ -0,0 +1,231 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Solves a single classic group to within a factor (1 - epsilon) of the optimum
+ * (an FPTAS). Values are divided by K = epsilon * LB / n, where LB is a greedy
+ * lower bound on the optimum and n the number of items that fit, and the
+ * value-indexed DP runs on the rounded-down values. Each item loses less than K
+ * to rounding, so the selection found loses less than n * K = epsilon * LB of
+ * the optimum, while the table is only O(n / epsilon) wide whatever T and the
+ * values are.
+ * With a time budget the DP is repeated from a coarse epsilon of 1/2, halving it
+ * each round, and stops at the requested epsilon or when the budget runs out. Each
+ * round costs about half the next, so the last completed round is reported.
+ */
+public class ApproximationSolver {
+    private static final double COARSEST_EPSILON = 0.5;
+    // The scaling factor is raised rather than letting a table exceed this many cells
+    static final long MAX_TABLE_CELLS = 500_000_000L;
+    private static final int UNREACHABLE_WEIGHT = Integer.MAX_VALUE;
+
+    private final int T;
+    private final double epsilon;
+    private final long timeBudgetNanos; // 0 for no budget
+    // Work of the solve in progress, over all of its rounds
+    private long cells;
+    private long improvements;
+    private long peakTableBytes;
+
+    /**
+     * Constructs an ApproximationSolver.
+     *
+     * @param T Time limit (capacity)
+     * @param epsilon Allowed relative loss, in (0, 1)
+     * @param timeBudgetMillis Time allowed per group in milliseconds, or 0 for no budget
+     * @throws IllegalArgumentException If epsilon is not in (0, 1)
+     */
+    public ApproximationSolver(int T, double epsilon, long timeBudgetMillis) {
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("Epsilon must be between 0 and 1 (exclusive)");
+        }
+        this.T = T;
+        this.epsilon = epsilon;
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+    }
+
+    /**
+     * Finds a selection worth at least (1 - epsilon) of the group's optimum, or of a
+     * coarser epsilon if the time budget ran out first. The returned result's upper
+     * bound brackets the optimum; it is exact when the bound equals the value found.
+     * Time Complexity: O(n^2 / epsilon) for the DP plus O(n log n) for the greedy bound
+     * Space Complexity: O(n^2 / epsilon / 64) for the packed choice bits
+     *
+     * @param groupItems Items in this group
+     * @return GroupResult with the selection found and an upper bound on the optimum
+     */
+    public GroupResult solve(GroupItems groupItems) {
+        // Items that cannot fit alone or add no value are dropped; the rest are
+        // sorted by density for the greedy and fractional bounds
+        cells = 0;
+        improvements = 0;
+        peakTableBytes = 0;
+        int m = groupItems.size();
+        Integer[] byDensity = new Integer[m];
+        int n = 0;
+        for (int i = 0; i < m; i++) {
+            if (groupItems.getWeight(i) <= T && groupItems.getValue(i) > 0) byDensity[n++] = i;
+        }
+        if (n == 0) {
+            return new GroupResult(groupItems.getGroupIndex(), 0, 0, 0, new ArrayList<>());
+        }
+        Arrays.sort(byDensity, 0, n, (a, b) -> Long.compare(
+            (long) groupItems.getValue(b) * groupItems.getWeight(a),
+            (long) groupItems.getValue(a) * groupItems.getWeight(b)));
+        int[] order = new int[n];
+        for (int k = 0; k < n; k++) order[k] = byDensity[k];
+
+        // Greedy by density until the first item that does not fit gives the Dantzig
+        // bound; the better of that prefix and the most valuable item is within half
+        // of the optimum and is the fallback selection
+        long prefixValue = 0;
+        long prefixWeight = 0;
+        int split = 0;
+        while (split < n && prefixWeight + groupItems.getWeight(order[split]) <= T) {
+            prefixValue += groupItems.getValue(order[split]);
+            prefixWeight += groupItems.getWeight(order[split]);
+            split++;
+        }
+        long upperBound = prefixValue;
+        if (split < n) {
+            upperBound += (T - prefixWeight) * groupItems.getValue(order[split])
+                / groupItems.getWeight(order[split]);
+        }
+        int maxItem = order[0];
+        for (int k = 1; k < n; k++) {
+            if (groupItems.getValue(order[k]) > groupItems.getValue(maxItem)) maxItem = order[k];
+        }
+
+        Selection best;
+        if (groupItems.getValue(maxItem) > prefixValue) {
+            best = new Selection(new int[] {maxItem}, groupItems.getValue(maxItem), groupItems.getWeight(maxItem));
+        } else {
+            best = new Selection(Arrays.copyOf(order, split), prefixValue, prefixWeight);
+            Arrays.sort(best.indices);
+        }
+
+        long deadline = timeBudgetNanos > 0 ? System.nanoTime() + timeBudgetNanos : Long.MAX_VALUE;
+        double roundEpsilon = timeBudgetNanos > 0 ? Math.max(epsilon, COARSEST_EPSILON) : epsilon;
+        while (best.value < upperBound) {
+            // best.value is a lower bound on the optimum, so a loss under roundEpsilon
+            // times it is within roundEpsilon of the optimum. Never finer than integer
+            // values, and never a table over MAX_TABLE_CELLS
+            double scale = Math.max(1.0, roundEpsilon * best.value / n);
+            scale = Math.max(scale, (double) n * (upperBound + n) / MAX_TABLE_CELLS);
+
+            Selection found = scaledValueDp(groupItems, order, scale, upperBound, deadline);
+            if (found == null) break; // Out of time; keep the previous round
+            if (found.value > best.value || found.value == best.value && found.weight < best.weight) {
+                best = found;
+            }
+            // Every item of the optimum lost less than one scale unit to rounding
+            upperBound = Math.min(upperBound, scale == 1.0
+                ? found.scaledValue
+                : (long) Math.ceil(scale * (found.scaledValue + n)));
+
+            if (roundEpsilon <= epsilon || scale == 1.0) break;
+            roundEpsilon = Math.max(epsilon, roundEpsilon / 2);
+        }
+
+        ArrayList<Item> picked = new ArrayList<>(best.indices.length);
+        for (int index : best.indices) {
+            picked.add(groupItems.toItem(index));
+        }
+        upperBound = Math.max(upperBound, best.value);
+        GroupResult result = new GroupResult(
+            groupItems.getGroupIndex(),
+            picked.size(),
+            (int) best.weight,
+            (int) best.value,
+            picked,
+            upperBound == best.value,
+            (int) Math.min(upperBound, Integer.MAX_VALUE)
+        );
+        result.setWork(cells, improvements, peakTableBytes);
+        return result;
+    }
+
+    /**
+     * Runs the value-indexed DP on values divided by scale and rounded down:
+     * minWeight[val] is the lightest selection whose scaled values sum to val.
+     * Time Complexity: O(n * W) where W = upperBound / scale is the table width
+     * Space Complexity: O(W + n * W / 64)
+     *
+     * @return The most valuable selection under T, or null if the deadline passed
+     */
+    private Selection scaledValueDp(GroupItems groupItems, int[] order, double scale,
+                                    long upperBound, long deadline) {
+        int n = order.length;
+        int[] scaled = new int[n];
+        long scaledSum = 0;
+        for (int k = 0; k < n; k++) {
+            scaled[k] = (int) (groupItems.getValue(order[k]) / scale);
+            scaledSum += scaled[k];
+        }
+        // No feasible selection can exceed the upper bound after scaling
+        int width = (int) Math.min(scaledSum, (long) (upperBound / scale));
+
+        int[] minWeight = new int[width + 1];
+        Arrays.fill(minWeight, 1, width + 1, UNREACHABLE_WEIGHT);
+        int words = (width >>> 6) + 1;
+        long[] choice = new long[Math.multiplyExact(n, words)];
+
+        peakTableBytes = Math.max(peakTableBytes, 4L * (width + 1) + 8L * choice.length);
+        int reached = 0;
+        for (int k = 0; k < n; k++) {
+            if (System.nanoTime() > deadline) return null;
+            int w = groupItems.getWeight(order[k]);
+            int v = scaled[k];
+            int row = k * words;
+            reached = (int) Math.min(width, (long) reached + v);
+            cells += Math.max(0, reached - v + 1);
+            for (int val = reached; val >= v; val--) {
+                int prev = minWeight[val - v];
+                if (prev == UNREACHABLE_WEIGHT) continue;
+                long nw = (long) prev + w;
+                if (nw <= T && nw < minWeight[val]) {
+                    minWeight[val] = (int) nw;
+                    choice[row + (val >>> 6)] |= 1L << val;
+                }
+            }
+        }
+
+        improvements += KnapsackSolver.countChoiceBits(choice);
+        int bestScaled = width;
+        while (minWeight[bestScaled] == UNREACHABLE_WEIGHT) {
+            bestScaled--;
+        }
+
+        int[] indices = new int[n];
+        int count = 0;
+        long value = 0;
+        for (int k = n - 1, val = bestScaled; k >= 0 && val > 0; k--) {
+            if ((choice[k * words + (val >>> 6)] & (1L << val)) != 0) {
+                indices[count++] = order[k];
+                value += groupItems.getValue(order[k]);
+                val -= scaled[k];
+            }
+        }
+        indices = Arrays.copyOf(indices, count);
+        Arrays.sort(indices);
+        Selection selection = new Selection(indices, value, minWeight[bestScaled]);
+        selection.scaledValue = bestScaled;
+        return selection;
+    }
+
+    /**
+     * A candidate selection by index within the group.
+     */
+    private static final class Selection {
+        private final int[] indices;
+        private final long value;
+        private final long weight;
+        private long scaledValue;
+
+        Selection(int[] indices, long value, long weight) {
+            this.indices = indices;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
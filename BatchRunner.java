@@ -0,0 +1,255 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Solves many instances in one JVM as a three-stage pipeline.
+ * The calling thread parses instances one after another, a fixed pool of workers
+ * solves them, and results are written either in input order by a writer thread
+ * or as soon as they finish, tagged with the instance id. At most maxInFlight
+ * instances are parsed but not yet written, so the parser blocks instead of
+ * filling the heap when the workers fall behind.
+ * An instance that cannot be read counts as one failure like one that cannot be
+ * solved, and the batch goes on with the next one.
+ */
+public class BatchRunner {
+    private static final int MIN_ITEM_BYTES = 6; // "v w g" and a line break
+
+    private final int workers;
+    private final int maxInFlight;
+    private final boolean ordered;
+    private final Consumer<KnapsackSolver> configure;
+
+    /**
+     * Constructs a BatchRunner.
+     *
+     * @param workers Number of solver threads
+     * @param maxInFlight Maximum instances held in memory between parsing and writing
+     * @param ordered true to write results in input order, false to write each one
+     *                tagged with its id as soon as it is solved
+     * @param configure Applied to every solver before solving, e.g. to set the mode
+     */
+    public BatchRunner(int workers, int maxInFlight, boolean ordered, Consumer<KnapsackSolver> configure) {
+        this.workers = workers;
+        this.maxInFlight = maxInFlight;
+        this.ordered = ordered;
+        this.configure = configure;
+    }
+
+    /**
+     * Solves every instance in a stream of concatenated "N G T R" instances.
+     * Instances are identified by their 0-based position in the stream. A
+     * malformed item skips its instance; after a malformed header, an item count
+     * the rest of the input cannot hold or a truncated instance the next instance
+     * cannot be found, so reading stops there and the instances already read are
+     * still solved and written.
+     *
+     * @param reader The reader over the stream
+     * @param out Where results are written
+     * @return Number of instances that failed to read or solve
+     */
+    public int runStream(FastReader reader, PrintStream out) {
+        try (Pipeline pipeline = new Pipeline(out)) {
+            for (int index = 0; reader.hasNext(); index++) {
+                pipeline.acquire();
+                String tag = String.valueOf(index);
+                KnapsackSolver solver;
+                try {
+                    solver = Main.readSolver(reader, reader.remainingBytes() / MIN_ITEM_BYTES + 1);
+                } catch (InputMismatchException e) {
+                    pipeline.reject(tag, e);
+                    continue;
+                } catch (RuntimeException e) {
+                    pipeline.reject(tag, e);
+                    break;
+                }
+                pipeline.submit(tag, solver);
+            }
+            return pipeline.finish();
+        }
+    }
+
+    /**
+     * Solves one instance per file, identified by the file name.
+     *
+     * @param files The instance files, processed in list order
+     * @param out Where results are written
+     * @return Number of instances that failed to read or solve
+     */
+    public int runFiles(List<Path> files, PrintStream out) {
+        try (Pipeline pipeline = new Pipeline(out)) {
+            for (Path file : files) {
+                pipeline.acquire();
+                String tag = file.getFileName().toString();
+                KnapsackSolver solver;
+                try (FastReader reader = new FastReader(file)) {
+                    solver = Main.readSolver(reader, Files.size(file) / MIN_ITEM_BYTES + 1);
+                } catch (IOException | RuntimeException e) {
+                    pipeline.reject(tag, e);
+                    continue;
+                }
+                pipeline.submit(tag, solver);
+            }
+            return pipeline.finish();
+        }
+    }
+
+    /**
+     * The worker pool, in-flight permits and writer thread of one run.
+     */
+    private class Pipeline implements AutoCloseable {
+        private final PrintStream out;
+        private final ExecutorService pool = Executors.newFixedThreadPool(workers);
+        private final Semaphore inFlight = new Semaphore(maxInFlight);
+        private final BlockingQueue<Pending> writeQueue = new LinkedBlockingQueue<>();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final Thread writer;
+
+        Pipeline(PrintStream out) {
+            this.out = out;
+            this.writer = ordered ? new Thread(this::writeInOrder, "batch-writer") : null;
+            if (writer != null) writer.start();
+        }
+
+        /**
+         * Blocks until fewer than maxInFlight instances are pending.
+         */
+        void acquire() {
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a free slot", e);
+            }
+        }
+
+        /**
+         * Hands a parsed instance to the workers. Must follow a successful acquire().
+         */
+        void submit(String tag, KnapsackSolver solver) {
+            configure.accept(solver);
+            if (ordered) {
+                writeQueue.add(new Pending(tag, pool.submit(solver::solve)));
+            } else {
+                pool.execute(() -> {
+                    try {
+                        write(tag, solver.solve());
+                    } catch (RuntimeException e) {
+                        fail(tag, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+
+        /**
+         * Counts an instance that could not be read as failed, in its place in the
+         * output. Must follow a successful acquire().
+         */
+        void reject(String tag, Exception cause) {
+            if (ordered) {
+                writeQueue.add(new Pending(tag, CompletableFuture.failedFuture(cause)));
+            } else {
+                fail(tag, cause);
+                inFlight.release();
+            }
+        }
+
+        /**
+         * Writes results in submission order, waiting on each in turn.
+         */
+        private void writeInOrder() {
+            try {
+                while (true) {
+                    Pending pending = writeQueue.take();
+                    if (pending.result == null) return;
+                    try {
+                        write(pending.tag, pending.result.get());
+                    } catch (ExecutionException e) {
+                        fail(pending.tag, e.getCause());
+                    } finally {
+                        inFlight.release();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void write(String tag, SolverResult result) {
+            synchronized (out) {
+                if (ordered) {
+                    out.println(result.getMaxValue());
+                } else {
+                    out.println(tag + " " + result.getMaxValue());
+                }
+            }
+        }
+
+        private void fail(String tag, Throwable cause) {
+            failures.incrementAndGet();
+            System.err.println("Instance " + tag + " failed: " + cause.getMessage());
+            if (ordered) {
+                // Keep one line per instance so output lines still match input order
+                synchronized (out) {
+                    out.println("ERROR");
+                }
+            }
+        }
+
+        /**
+         * Waits until every submitted instance has been written.
+         *
+         * @return Number of instances that failed
+         */
+        int finish() {
+            try {
+                if (writer != null) {
+                    writeQueue.add(new Pending(null, null));
+                    writer.join();
+                }
+                // Every permit comes back once its result has been written
+                inFlight.acquire(maxInFlight);
+                inFlight.release(maxInFlight);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while finishing the batch", e);
+            }
+            out.flush();
+            return failures.get();
+        }
+
+        @Override
+        public void close() {
+            pool.shutdownNow();
+            if (writer != null) writer.interrupt();
+        }
+    }
+
+    /**
+     * A submitted instance waiting to be written; a null result ends the writer.
+     */
+    private static final class Pending {
+        private final String tag;
+        private final Future<SolverResult> result;
+
+        Pending(String tag, Future<SolverResult> result) {
+            this.tag = tag;
+            this.result = result;
+        }
+    }
+}
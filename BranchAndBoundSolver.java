@@ -0,0 +1,174 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Solves a single classic group by depth-first branch-and-bound.
+ * Items are explored in order of value density and every node is pruned with the
+ * Dantzig bound: the LP relaxation of the remaining items, filled greedily by
+ * density with a fractional last item. The work depends on how well the bound
+ * prunes rather than on T, which suits groups with few, heavy items.
+ * Search stops at a node or time limit, returning the best selection found so far.
+ */
+public class BranchAndBoundSolver {
+    private static final int TIME_CHECK_INTERVAL = 4096; // Nodes between clock reads
+
+    private final int T;
+    private final long nodeLimit; // 0 for no limit
+    private final long timeLimitNanos; // 0 for no limit
+
+    /**
+     * Constructs a BranchAndBoundSolver with the specified limits.
+     * 
+     * @param T Time limit (capacity)
+     * @param nodeLimit Maximum nodes to expand, or 0 for no limit
+     * @param timeLimitMillis Maximum search time in milliseconds, or 0 for no limit
+     */
+    public BranchAndBoundSolver(int T, long nodeLimit, long timeLimitMillis) {
+        this.T = T;
+        this.nodeLimit = nodeLimit;
+        this.timeLimitNanos = timeLimitMillis * 1_000_000L;
+    }
+
+    /**
+     * Searches for the optimal selection of one group.
+     * Time Complexity: O(2^m) worst case, O(log m) per node for the bound
+     * Space Complexity: O(m) for the sorted items and decision stack
+     * 
+     * @param groupItems Items in this group
+     * @return GroupResult with the optimum, or the best found if a limit was hit
+     */
+    public GroupResult solve(GroupItems groupItems) {
+        // Items that cannot fit alone or add no value are dropped; the rest are
+        // sorted by density, with zero-weight items first
+        int m = groupItems.size();
+        Integer[] byDensity = new Integer[m];
+        int n = 0;
+        for (int i = 0; i < m; i++) {
+            if (groupItems.getWeight(i) <= T && groupItems.getValue(i) > 0) byDensity[n++] = i;
+        }
+        Arrays.sort(byDensity, 0, n, (a, b) -> Long.compare(
+            (long) groupItems.getValue(b) * groupItems.getWeight(a),
+            (long) groupItems.getValue(a) * groupItems.getWeight(b)));
+
+        int[] order = new int[n];
+        int[] w = new int[n];
+        int[] v = new int[n];
+        long[] prefixW = new long[n + 1];
+        long[] prefixV = new long[n + 1];
+        for (int k = 0; k < n; k++) {
+            order[k] = byDensity[k];
+            w[k] = groupItems.getWeight(order[k]);
+            v[k] = groupItems.getValue(order[k]);
+            prefixW[k + 1] = prefixW[k] + w[k];
+            prefixV[k + 1] = prefixV[k] + v[k];
+        }
+
+        long rootBound = n > 0 ? upperBound(0, T, w, v, prefixW, prefixV) : 0;
+        boolean[] take = new boolean[n];
+        boolean[] bestTake = new boolean[n];
+        long bestVal = 0;
+        long bestWeight = 0;
+
+        long nodes = 0;
+        long improvements = 0; // Times the incumbent got better
+        long deadline = timeLimitNanos > 0 ? System.nanoTime() + timeLimitNanos : Long.MAX_VALUE;
+        boolean exhausted = true;
+
+        int i = 0;
+        long cap = T;
+        long val = 0;
+        search:
+        while (true) {
+            if (nodeLimit > 0 && nodes >= nodeLimit
+                    || nodes % TIME_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                exhausted = false;
+                break;
+            }
+            nodes++;
+
+            long weight = T - cap;
+            if (val > bestVal || val == bestVal && weight < bestWeight) {
+                improvements++;
+                bestVal = val;
+                bestWeight = weight;
+                System.arraycopy(take, 0, bestTake, 0, i);
+                Arrays.fill(bestTake, i, n, false);
+            }
+
+            // Ties on value are broken toward less weight, matching the dense DP's
+            // smallest capacity reaching the optimum, so an equal bound is only
+            // pruned once this branch is already at least as heavy as the best
+            long bound = i < n ? val + upperBound(i, cap, w, v, prefixW, prefixV) : val;
+            if (i < n && (bound > bestVal || bound == bestVal && weight < bestWeight)) {
+                // Take branch first when the item fits, otherwise the only branch is skip
+                take[i] = w[i] <= cap;
+                if (take[i]) {
+                    cap -= w[i];
+                    val += v[i];
+                }
+                i++;
+                continue;
+            }
+
+            // Backtrack to the deepest taken item and switch it to skipped
+            for (int k = i - 1; k >= 0; k--) {
+                if (take[k]) {
+                    take[k] = false;
+                    cap += w[k];
+                    val -= v[k];
+                    i = k + 1;
+                    continue search;
+                }
+            }
+            break;
+        }
+
+        ArrayList<Item> picked = new ArrayList<>();
+        int[] pickedIndices = new int[n];
+        int count = 0;
+        for (int k = 0; k < n; k++) {
+            if (bestTake[k]) pickedIndices[count++] = order[k];
+        }
+        Arrays.sort(pickedIndices, 0, count);
+        for (int k = 0; k < count; k++) {
+            picked.add(groupItems.toItem(pickedIndices[k]));
+        }
+        GroupResult result = new GroupResult(
+            groupItems.getGroupIndex(),
+            picked.size(),
+            (int) bestWeight,
+            (int) bestVal,
+            picked,
+            exhausted,
+            // The root's fractional bound still caps the optimum when the search stops early
+            exhausted ? (int) bestVal : (int) Math.min(rootBound, Integer.MAX_VALUE)
+        );
+        // Item arrays, prefix sums and the two take flags
+        result.setWork(nodes, improvements, 12L * n + 16L * (n + 1) + 2L * n);
+        return result;
+    }
+
+    /**
+     * Dantzig bound on the value items k.. can add within cap: take items whole in
+     * density order while they fit, then the fitting fraction of the next one.
+     * Time Complexity: O(log m) via binary search on prefix weights
+     * Space Complexity: O(1)
+     */
+    private static long upperBound(int k, long cap, int[] w, int[] v, long[] prefixW, long[] prefixV) {
+        int n = w.length;
+        long limit = prefixW[k] + cap;
+        // Largest j with prefixW[j] <= limit; items k..j-1 fit whole
+        int lo = k;
+        int hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (prefixW[mid] <= limit) lo = mid; else hi = mid - 1;
+        }
+        long bound = prefixV[lo] - prefixV[k];
+        if (lo < n) {
+            long remaining = limit - prefixW[lo];
+            bound += remaining * v[lo] / w[lo];
+        }
+        return bound;
+    }
+}
@@ -0,0 +1,139 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Best value of one group as a function of capacity, for every capacity 0..T.
+ * Stored as a step function: the capacities at which the best value increases,
+ * and the value from each of them on. The DP choice bits are kept so that the
+ * selection for any capacity can be rebuilt on demand.
+ */
+public class CapacityProfile {
+    private final GroupItems groupItems;
+    private final int maxCapacity;
+    private final int[] stepCapacities; // Ascending, starting at 0
+    private final int[] stepValues; // Strictly increasing
+    private final long[] choice;
+    private final int words;
+
+    /**
+     * Constructs a profile from a completed classic DP table.
+     * Time Complexity: O(T) to compress the row into steps
+     * Space Complexity: O(s) where s is the number of steps
+     * 
+     * @param groupItems Items in the group
+     * @param dp The DP row, dp[t] being the best value with weight at most t
+     * @param choice Packed choice bits, one row of words per item
+     * @param words Number of longs per row
+     */
+    public CapacityProfile(GroupItems groupItems, int[] dp, long[] choice, int words) {
+        this.groupItems = groupItems;
+        this.maxCapacity = dp.length - 1;
+        this.choice = choice;
+        this.words = words;
+
+        int steps = 1;
+        for (int t = 1; t < dp.length; t++) {
+            if (dp[t] > dp[t - 1]) steps++;
+        }
+        stepCapacities = new int[steps];
+        stepValues = new int[steps];
+        stepValues[0] = dp[0];
+        for (int t = 1, k = 1; t < dp.length; t++) {
+            if (dp[t] > dp[t - 1]) {
+                stepCapacities[k] = t;
+                stepValues[k] = dp[t];
+                k++;
+            }
+        }
+    }
+
+    public int getGroupIndex() {
+        return groupItems.getGroupIndex();
+    }
+
+    GroupItems getGroupItems() {
+        return groupItems;
+    }
+
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    public int getStepCount() {
+        return stepCapacities.length;
+    }
+
+    public int getStepCapacity(int step) {
+        return stepCapacities[step];
+    }
+
+    public int getStepValue(int step) {
+        return stepValues[step];
+    }
+
+    /**
+     * Returns the best value achievable with capacity t.
+     * Time Complexity: O(log s) where s is the number of steps
+     * 
+     * @param t The capacity, between 0 and the profile's maximum capacity
+     * @return The best value with base weight at most t
+     */
+    public int valueAt(int t) {
+        return stepValues[stepAt(t)];
+    }
+
+    /**
+     * Expands the profile into a dense array indexed by capacity.
+     * Time Complexity: O(T)
+     * Space Complexity: O(T)
+     * 
+     * @return profile[t] is the best value with base weight at most t
+     */
+    public int[] toArray() {
+        int[] dense = new int[maxCapacity + 1];
+        for (int k = 0; k < stepCapacities.length; k++) {
+            int end = k + 1 < stepCapacities.length ? stepCapacities[k + 1] : maxCapacity + 1;
+            Arrays.fill(dense, stepCapacities[k], end, stepValues[k]);
+        }
+        return dense;
+    }
+
+    /**
+     * Rebuilds the optimal selection for capacity t. The result is the same as
+     * solving the group with time limit t in classic mode.
+     * Time Complexity: O(log s + m)
+     * Space Complexity: O(k) where k is the selection size
+     * 
+     * @param t The capacity, between 0 and the profile's maximum capacity
+     * @return GroupResult for this group at capacity t
+     */
+    public GroupResult selectionAt(int t) {
+        int step = stepAt(t);
+        // The step start is the smallest capacity reaching this value
+        int bestT = stepCapacities[step];
+        ArrayList<Item> selected = KnapsackSolver.reconstructSelection(groupItems, choice, words, bestT);
+        return new GroupResult(
+            groupItems.getGroupIndex(),
+            selected.size(),
+            bestT,
+            stepValues[step],
+            selected
+        );
+    }
+
+    /**
+     * Finds the last step starting at or before capacity t.
+     */
+    private int stepAt(int t) {
+        if (t < 0 || t > maxCapacity) {
+            throw new IllegalArgumentException("Capacity must be between 0 and " + maxCapacity);
+        }
+        int lo = 0;
+        int hi = stepCapacities.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (stepCapacities[mid] <= t) lo = mid; else hi = mid - 1;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,286 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Solves a single group where the k-th selected item costs baseWeight + R * k.
+ * Since the rate penalty depends only on how many items are taken, a selection of
+ * c items with base weight sum t uses t + R * c * (c + 1) / 2 time in any order.
+ * The DP runs over (count, base weight); row c only spans the base budget still
+ * left after the penalty for c items, and counts whose penalty plus the c lightest
+ * items exceed T are pruned entirely.
+ * One pass finds the optimum and, among the (count, weight) cells reaching it, the
+ * one using the least dynamic time, keeping only the rows. The selection is then
+ * rebuilt by divide and conquer as LinearMemoryDpSolver does: the items are cut in
+ * half, each half's best value for every (count, weight) within the target is
+ * computed, and the target is split where the two halves together reach the
+ * optimum. Once a part's choice bits take no more memory than the rows, it is
+ * solved directly with choice bits instead.
+ */
+public class DynamicGroupSolver {
+    private static final int UNREACHABLE = Integer.MIN_VALUE;
+
+    private final int T;
+    private final int R;
+    // Work of the solve in progress, first pass and rebuild together. Improvements
+    // are those of the parts solved with choice bits, counted from the bits
+    private long leafWords;
+    private long cells;
+    private long improvements;
+    private long peakTableBytes;
+
+    /**
+     * Constructs a DynamicGroupSolver.
+     *
+     * @param T Time limit (capacity)
+     * @param R Rate added to the weight of each later pick
+     */
+    public DynamicGroupSolver(int T, int R) {
+        this.T = T;
+        this.R = R;
+    }
+
+    /**
+     * Finds the optimum with the least dynamic time, fewer items breaking any
+     * remaining tie, and rebuilds a selection reaching it.
+     * Time Complexity: O(m * C * T) for the first pass plus as much again for the
+     * rebuild, where C is the largest count that can fit
+     * Space Complexity: O(C * T + m)
+     *
+     * @param groupItems Items in this group
+     * @return GroupResult containing the optimal solution for this group
+     */
+    public GroupResult solve(GroupItems groupItems) {
+        cells = 0;
+        improvements = 0;
+        int m = groupItems.size();
+        int maxCount = maxFeasibleCount(groupItems);
+
+        // dp[c][t]: best value using exactly c items with base weight sum exactly t
+        int[][] dp = new int[maxCount + 1][];
+        dp[0] = new int[1];
+        long rowCells = 1;
+        for (int c = 1; c <= maxCount; c++) {
+            dp[c] = new int[(int) (T - ratePenalty(c)) + 1];
+            Arrays.fill(dp[c], UNREACHABLE);
+            rowCells += dp[c].length;
+        }
+        leafWords = rowCells;
+        peakTableBytes = 4L * rowCells;
+
+        for (int i = 0; i < m; i++) {
+            int w = groupItems.getWeight(i);
+            int v = groupItems.getValue(i);
+            for (int c = Math.min(maxCount, i + 1); c >= 1; c--) {
+                int[] prev = dp[c - 1];
+                int[] cur = dp[c];
+                int top = Math.min(cur.length - 1, prev.length - 1 + w);
+                cells += Math.max(0, top - w + 1);
+                for (int t = top; t >= w; t--) {
+                    int pv = prev[t - w];
+                    if (pv == UNREACHABLE) continue;
+                    int nv = pv + v;
+                    if (nv > cur[t]) cur[t] = nv;
+                }
+            }
+        }
+
+        // Rows are scanned by count and each row by weight, so a later cell only
+        // wins on a higher value or strictly less dynamic time
+        int bestVal = 0;
+        int bestC = 0;
+        int bestT = 0;
+        long bestTime = 0;
+        for (int c = 1; c <= maxCount; c++) {
+            for (int t = 0; t < dp[c].length; t++) {
+                int v = dp[c][t];
+                if (v == UNREACHABLE || v < bestVal) continue;
+                long time = t + ratePenalty(c);
+                if (v > bestVal || time < bestTime) {
+                    bestVal = v;
+                    bestC = c;
+                    bestT = t;
+                    bestTime = time;
+                }
+            }
+        }
+        dp = null; // Not needed during the rebuild
+
+        boolean[] take = new boolean[m];
+        rebuild(groupItems, 0, m, bestC, bestT, take);
+
+        ArrayList<Item> picked = new ArrayList<>();
+        for (int i = 0; i < m; i++) {
+            if (take[i]) picked.add(groupItems.toItem(i));
+        }
+        int dynamicTime = 0;
+        for (int k = 1; k <= picked.size(); k++) {
+            dynamicTime += picked.get(k - 1).getDynamicWeight(k, R);
+        }
+        GroupResult result = new GroupResult(groupItems.getGroupIndex(), picked.size(), dynamicTime, bestVal, picked);
+        result.setWork(cells, improvements, peakTableBytes);
+        return result;
+    }
+
+    /**
+     * Marks the items of [lo..hi) taken by a selection of exactly c items with base
+     * weight sum exactly t and the best value among such selections.
+     */
+    private void rebuild(GroupItems groupItems, int lo, int hi, int c, int t, boolean[] take) {
+        if (c == 0) return;
+        if (c == hi - lo) {
+            Arrays.fill(take, lo, hi, true);
+            return;
+        }
+        if (hi - lo == 1 || (long) (hi - lo) * words(c, t) <= leafWords) {
+            rebuildWithChoiceBits(groupItems, lo, hi, c, t, take);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        long split = split(groupItems, lo, mid, hi, c, t);
+        int leftC = (int) (split >>> 32);
+        int leftT = (int) split;
+        rebuild(groupItems, lo, mid, leftC, leftT, take);
+        rebuild(groupItems, mid, hi, c - leftC, t - leftT, take);
+    }
+
+    /**
+     * Count and weight to give [lo..mid) so that both halves together reach the
+     * best value for exactly (c, t), packed as count << 32 | weight.
+     */
+    private long split(GroupItems groupItems, int lo, int mid, int hi, int c, int t) {
+        int[][] left = profile(groupItems, lo, mid, c, t);
+        int[][] right = profile(groupItems, mid, hi, c, t);
+        peakTableBytes = Math.max(peakTableBytes, 8L * (c + 1) * (t + 1));
+        long best = Long.MIN_VALUE;
+        int bestC = 0;
+        int bestT = 0;
+        for (int a = Math.max(0, c - (hi - mid)); a <= Math.min(c, mid - lo); a++) {
+            int[] l = left[a];
+            int[] r = right[c - a];
+            for (int b = 0; b <= t; b++) {
+                if (l[b] == UNREACHABLE || r[t - b] == UNREACHABLE) continue;
+                long v = (long) l[b] + r[t - b];
+                if (v > best) {
+                    best = v;
+                    bestC = a;
+                    bestT = b;
+                }
+            }
+        }
+        return (long) bestC << 32 | bestT;
+    }
+
+    /**
+     * Best value of [lo..hi) for every count 0..c and base weight sum 0..t.
+     * Counts above hi - lo cannot be reached and are left unfilled.
+     * Time Complexity: O((hi - lo) * c * t)
+     * Space Complexity: O(c * t)
+     */
+    private int[][] profile(GroupItems groupItems, int lo, int hi, int c, int t) {
+        int rows = Math.min(c, hi - lo);
+        int[][] dp = new int[c + 1][t + 1];
+        for (int[] row : dp) Arrays.fill(row, UNREACHABLE);
+        dp[0][0] = 0;
+        for (int k = lo; k < hi; k++) {
+            int w = groupItems.getWeight(k);
+            int v = groupItems.getValue(k);
+            for (int n = Math.min(rows, k - lo + 1); n >= 1; n--) {
+                int[] prev = dp[n - 1];
+                int[] cur = dp[n];
+                cells += Math.max(0, t - w + 1);
+                for (int s = t; s >= w; s--) {
+                    int pv = prev[s - w];
+                    if (pv == UNREACHABLE) continue;
+                    int nv = pv + v;
+                    if (nv > cur[s]) cur[s] = nv;
+                }
+            }
+        }
+        return dp;
+    }
+
+    /**
+     * Solves [lo..hi) for exactly (c, t) with one choice bit per (item, count,
+     * weight) and walks them back from (c, t).
+     */
+    private void rebuildWithChoiceBits(GroupItems groupItems, int lo, int hi, int c, int t, boolean[] take) {
+        int width = t + 1;
+        int words = words(c, t);
+        int[] dp = new int[(c + 1) * width];
+        Arrays.fill(dp, UNREACHABLE);
+        dp[0] = 0;
+        long[] choice = new long[Math.multiplyExact(hi - lo, words)];
+        peakTableBytes = Math.max(peakTableBytes, 4L * dp.length + 8L * choice.length);
+        for (int k = lo; k < hi; k++) {
+            int w = groupItems.getWeight(k);
+            int v = groupItems.getValue(k);
+            int row = (k - lo) * words;
+            for (int n = Math.min(c, k - lo + 1); n >= 1; n--) {
+                int base = n * width;
+                cells += Math.max(0, t - w + 1);
+                for (int s = t; s >= w; s--) {
+                    int pv = dp[base - width + s - w];
+                    if (pv == UNREACHABLE) continue;
+                    int nv = pv + v;
+                    if (nv > dp[base + s]) {
+                        dp[base + s] = nv;
+                        int cell = base + s;
+                        choice[row + (cell >>> 6)] |= 1L << cell;
+                    }
+                }
+            }
+        }
+        improvements += KnapsackSolver.countChoiceBits(choice);
+        for (int k = hi - 1, n = c, s = t; k >= lo && n > 0; k--) {
+            int cell = n * width + s;
+            if ((choice[(k - lo) * words + (cell >>> 6)] & (1L << cell)) != 0) {
+                take[k] = true;
+                s -= groupItems.getWeight(k);
+                n--;
+            }
+        }
+    }
+
+    /**
+     * Longs needed for one item's choice bits over counts 0..c and weights 0..t.
+     */
+    private static int words(int c, int t) {
+        return (int) (((long) (c + 1) * (t + 1)) >>> 6) + 1;
+    }
+
+    /**
+     * Finds the largest item count whose rate penalty plus the lightest base
+     * weights in the group still fit under T.
+     * Time Complexity: O(m log m) for sorting the base weights
+     * Space Complexity: O(m) for the sorted weights
+     *
+     * @param groupItems Items in this group
+     * @return The maximum number of items any feasible selection can hold
+     */
+    private int maxFeasibleCount(GroupItems groupItems) {
+        int[] weights = new int[groupItems.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = groupItems.getWeight(i);
+        }
+        Arrays.sort(weights);
+
+        long lightest = 0;
+        int count = 0;
+        while (count < weights.length) {
+            lightest += weights[count];
+            if (lightest + ratePenalty(count + 1) > T) break;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Total rate surcharge for selecting c items: R * (1 + 2 + ... + c).
+     *
+     * @param c Number of selected items
+     * @return The surcharge on top of the base weights
+     */
+    private long ratePenalty(int c) {
+        return (long) R * c * (c + 1) / 2;
+    }
+}
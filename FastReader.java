@@ -0,0 +1,194 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads whitespace-separated ASCII integers straight from bytes.
+ * Files are memory-mapped window by window; streams such as stdin are read
+ * through one large reusable buffer. No String is created per token.
+ */
+public class FastReader implements Closeable {
+    private static final int STREAM_BUFFER_SIZE = 1 << 16;
+    private static final long MAP_WINDOW_SIZE = 1L << 30;
+
+    private final ReadableByteChannel stream; // null when reading a mapped file
+    private final FileChannel file;           // null when reading a stream
+    private ByteBuffer buffer;
+    private long mappedUpTo; // file offset just past the current window
+
+    /**
+     * Creates a reader over an input stream such as System.in.
+     * 
+     * @param in The stream to read from
+     */
+    public FastReader(InputStream in) {
+        this.stream = Channels.newChannel(in);
+        this.file = null;
+        this.buffer = ByteBuffer.allocate(STREAM_BUFFER_SIZE);
+        this.buffer.flip();
+    }
+
+    /**
+     * Creates a reader over a file using memory-mapped windows.
+     * 
+     * @param path The file to read from
+     * @throws IOException If the file cannot be opened
+     */
+    public FastReader(Path path) throws IOException {
+        this.stream = null;
+        this.file = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocate(0);
+    }
+
+    /**
+     * Parses the next integer, skipping any leading whitespace.
+     * Time Complexity: O(d) where d is the number of digits
+     * Space Complexity: O(1) - No allocation per token
+     * 
+     * @return The parsed integer
+     * @throws NoSuchElementException If the input is exhausted
+     * @throws InputMismatchException If the token is not an integer; the whole
+     *                                token is consumed either way
+     */
+    public int nextInt() {
+        int c = read();
+        while (c != -1 && c <= ' ') {
+            c = read();
+        }
+        if (c == -1) {
+            throw new NoSuchElementException("Unexpected end of input");
+        }
+
+        boolean negative = c == '-';
+        if (negative) {
+            c = read();
+        }
+        if (c < '0' || c > '9') {
+            skipRestOfToken();
+            throw new InputMismatchException("Expected a digit but found '" + (char) c + "'");
+        }
+
+        long result = 0;
+        while (c >= '0' && c <= '9') {
+            result = result * 10 + (c - '0');
+            if (result > (long) Integer.MAX_VALUE + 1) {
+                skipRestOfToken();
+                throw new InputMismatchException("Integer out of range");
+            }
+            c = read();
+        }
+        if (c > ' ') {
+            skipRestOfToken();
+            throw new InputMismatchException("Unexpected character '" + (char) c + "'");
+        }
+        if (negative) result = -result;
+        if (result > Integer.MAX_VALUE) {
+            throw new InputMismatchException("Integer out of range");
+        }
+        return (int) result;
+    }
+
+    /**
+     * Skips whole tokens, valid or not.
+     * 
+     * @param count Number of tokens to skip; stops early at the end of input
+     */
+    public void skipTokens(long count) {
+        for (long k = 0; k < count && hasNext(); k++) {
+            skipRestOfToken();
+        }
+    }
+
+    /**
+     * Consumes bytes up to the next whitespace, so that a failed nextInt() still
+     * consumes exactly one token.
+     */
+    private void skipRestOfToken() {
+        while (true) {
+            if (!buffer.hasRemaining() && !refill()) return;
+            if (buffer.get(buffer.position()) <= ' ') return;
+            buffer.get();
+        }
+    }
+
+    /**
+     * Returns true if another non-whitespace byte remains in the input.
+     * 
+     * @return Whether more tokens are available
+     */
+    public boolean hasNext() {
+        while (true) {
+            if (!buffer.hasRemaining() && !refill()) return false;
+            if (buffer.get(buffer.position()) > ' ') return true;
+            buffer.get();
+        }
+    }
+
+    /**
+     * Upper bound on the bytes left to read, for sizing checks before trusting a
+     * count taken from the input.
+     * 
+     * @return Bytes left in the file, or Long.MAX_VALUE when reading a stream
+     */
+    public long remainingBytes() {
+        if (file == null) return Long.MAX_VALUE;
+        try {
+            return file.size() - mappedUpTo + buffer.remaining();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read input: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads one byte, refilling the buffer when it runs dry.
+     * 
+     * @return The byte as 0-255, or -1 at end of input
+     */
+    private int read() {
+        if (!buffer.hasRemaining() && !refill()) return -1;
+        return buffer.get() & 0xFF;
+    }
+
+    /**
+     * Loads the next chunk of input into the buffer.
+     * 
+     * @return false if the input is exhausted
+     */
+    private boolean refill() {
+        try {
+            if (file != null) {
+                long size = file.size();
+                if (mappedUpTo >= size) return false;
+                long length = Math.min(MAP_WINDOW_SIZE, size - mappedUpTo);
+                MappedByteBuffer mapped = file.map(FileChannel.MapMode.READ_ONLY, mappedUpTo, length);
+                mappedUpTo += length;
+                buffer = mapped;
+                return true;
+            }
+            buffer.clear();
+            int n;
+            do {
+                n = stream.read(buffer);
+            } while (n == 0);
+            buffer.flip();
+            return n > 0;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read input: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (file != null) file.close();
+        if (stream != null) stream.close();
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * A read-only view of one group's contiguous slice in a GroupPartition.
+ * Indices passed to the accessors are relative to the start of the group.
+ */
+public class GroupItems {
+    private final int groupIndex;
+    private final int[] values;
+    private final int[] weights;
+    private final int from;
+    private final int to;
+
+    /**
+     * Constructs a view over values[from..to) and weights[from..to).
+     * 
+     * @param groupIndex The index of the group
+     * @param values Values of all partitioned items
+     * @param weights Base weights of all partitioned items
+     * @param from Start of this group's slice (inclusive)
+     * @param to End of this group's slice (exclusive)
+     */
+    public GroupItems(int groupIndex, int[] values, int[] weights, int from, int to) {
+        this.groupIndex = groupIndex;
+        this.values = values;
+        this.weights = weights;
+        this.from = from;
+        this.to = to;
+    }
+
+    public int getGroupIndex() {
+        return groupIndex;
+    }
+
+    public int size() {
+        return to - from;
+    }
+
+    public int getValue(int i) {
+        return values[from + i];
+    }
+
+    public int getWeight(int i) {
+        return weights[from + i];
+    }
+
+    /**
+     * Creates an Item object for the i-th item of the group, for results.
+     * 
+     * @param i Index within the group
+     * @return A new Item with the item's value, weight and group
+     */
+    public Item toItem(int i) {
+        return new Item(values[from + i], weights[from + i], groupIndex);
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Items bucketed by group in a single pass.
+ * Uses a counting sort so every group occupies a contiguous slice of one pair of
+ * value/weight arrays, keeping the items of each group in their original input order.
+ */
+public class GroupPartition {
+    private int[] values;
+    private int[] weights;
+    private int[] offsets; // offsets[g]..offsets[g + 1] is the slice of group g
+
+    /**
+     * Partitions the items into G groups.
+     * Items whose group lies outside [0, G) are dropped.
+     * Time Complexity: O(N + G) where N is total items and G is groups
+     * Space Complexity: O(N + G) for the sorted arrays and offsets
+     * 
+     * @param G Number of groups
+     * @param items All items
+     */
+    public GroupPartition(int G, ItemTable items) {
+        int n = items.size();
+        offsets = new int[G + 1];
+        for (int i = 0; i < n; i++) {
+            int g = items.getGroup(i);
+            if (g >= 0 && g < G) offsets[g + 1]++;
+        }
+        for (int g = 0; g < G; g++) {
+            offsets[g + 1] += offsets[g];
+        }
+
+        values = new int[offsets[G]];
+        weights = new int[offsets[G]];
+        int[] next = new int[G];
+        System.arraycopy(offsets, 0, next, 0, G);
+        for (int i = 0; i < n; i++) {
+            int g = items.getGroup(i);
+            if (g >= 0 && g < G) {
+                int slot = next[g]++;
+                values[slot] = items.getValue(i);
+                weights[slot] = items.getWeight(i);
+            }
+        }
+    }
+
+    public int getGroupCount() {
+        return offsets.length - 1;
+    }
+
+    public int size(int group) {
+        return offsets[group + 1] - offsets[group];
+    }
+
+    /**
+     * Returns a view of one group's slice.
+     * 
+     * @param group The group index
+     * @return The group's items
+     */
+    public GroupItems group(int group) {
+        return new GroupItems(group, values, weights, offsets[group], offsets[group + 1]);
+    }
+}
@@ -0,0 +1,123 @@
+import java.util.Arrays;
+
+/**
+ * Shrinks a classic group before it is solved, without changing its optimum or
+ * the smallest weight reaching it:
+ * - items heavier than T or worth nothing are dropped
+ * - an item is dropped when its dominators (items at most as heavy and at least
+ *   as valuable) weigh more than T - w together with it: an optimal selection can
+ *   never hold the item and all of them, so a missing dominator can replace it
+ * - k identical items become binary-split bundles of 1, 2, 4, ... copies, which
+ *   still reach every count 0..k with O(log k) 0/1 items
+ * - weights are divided by their GCD g and T by g (rounded down)
+ * The reduced group keeps, for every bundle, which original items it stands for,
+ * so an engine's result on it can be expanded back to the original items.
+ */
+public class GroupReducer {
+    private final int T;
+
+    /**
+     * Constructs a GroupReducer.
+     *
+     * @param T Time limit (capacity)
+     */
+    public GroupReducer(int T) {
+        this.T = T;
+    }
+
+    /**
+     * Reduces one group.
+     * Time Complexity: O(m log m) for the sort and the dominator sums
+     * Space Complexity: O(m)
+     *
+     * @param groupItems Items in this group
+     * @return The reduced group, which is the group itself when nothing could be removed
+     */
+    public ReducedGroup reduce(GroupItems groupItems) {
+        int m = groupItems.size();
+
+        // Lighter first, then more valuable first, then by index: every dominator
+        // of an item comes before it in this order
+        Integer[] order = new Integer[m];
+        int n = 0;
+        for (int i = 0; i < m; i++) {
+            if (groupItems.getWeight(i) <= T && groupItems.getValue(i) > 0) order[n++] = i;
+        }
+        Arrays.sort(order, 0, n, (a, b) -> {
+            int byWeight = Integer.compare(groupItems.getWeight(a), groupItems.getWeight(b));
+            if (byWeight != 0) return byWeight;
+            return Integer.compare(groupItems.getValue(b), groupItems.getValue(a));
+        });
+
+        // Weight of the earlier items worth at least as much, from a Fenwick tree
+        // over value ranks
+        int[] distinctValues = new int[n];
+        for (int k = 0; k < n; k++) distinctValues[k] = groupItems.getValue(order[k]);
+        Arrays.sort(distinctValues);
+        int distinct = 0;
+        for (int k = 0; k < n; k++) {
+            if (distinct == 0 || distinctValues[k] != distinctValues[distinct - 1]) {
+                distinctValues[distinct++] = distinctValues[k];
+            }
+        }
+        long[] weightByRank = new long[distinct + 1];
+        long insertedWeight = 0;
+        int[] kept = new int[n];
+        int keptCount = 0;
+        for (int k = 0; k < n; k++) {
+            int i = order[k];
+            int w = groupItems.getWeight(i);
+            int rank = Arrays.binarySearch(distinctValues, 0, distinct, groupItems.getValue(i)) + 1;
+            long lessValuable = 0;
+            for (int r = rank - 1; r > 0; r -= r & -r) lessValuable += weightByRank[r];
+            if (w + insertedWeight - lessValuable <= T) kept[keptCount++] = i;
+            for (int r = rank; r <= distinct; r += r & -r) weightByRank[r] += w;
+            insertedWeight += w;
+        }
+
+        // Identical items are adjacent in this order; split each run into bundles
+        int[] values = new int[keptCount];
+        int[] weights = new int[keptCount];
+        int[] originStart = new int[keptCount + 1];
+        int bundles = 0;
+        int gcd = 0;
+        for (int start = 0; start < keptCount; ) {
+            int w = groupItems.getWeight(kept[start]);
+            int v = groupItems.getValue(kept[start]);
+            int end = start + 1;
+            while (end < keptCount && groupItems.getWeight(kept[end]) == w && groupItems.getValue(kept[end]) == v) {
+                end++;
+            }
+            for (int next = start, size = 1; next < end; next += size, size *= 2) {
+                size = Math.min(size, end - next);
+                values[bundles] = v * size;
+                weights[bundles] = w * size;
+                originStart[bundles + 1] = next + size;
+                gcd = gcd(gcd, weights[bundles]);
+                bundles++;
+            }
+            start = end;
+        }
+        if (gcd == 0) gcd = 1; // Only weightless items
+
+        if (bundles == m && gcd == 1) {
+            return new ReducedGroup(groupItems, T);
+        }
+        for (int b = 0; b < bundles; b++) {
+            weights[b] /= gcd;
+        }
+        GroupItems reduced = new GroupItems(groupItems.getGroupIndex(),
+            Arrays.copyOf(values, bundles), Arrays.copyOf(weights, bundles), 0, bundles);
+        return new ReducedGroup(groupItems, reduced, T, T / gcd, gcd,
+            Arrays.copyOf(originStart, bundles + 1), kept, m - keptCount, keptCount - bundles);
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int r = a % b;
+            a = b;
+            b = r;
+        }
+        return a;
+    }
+}
@@ -9,6 +9,16 @@ public class GroupResult {
     private int dynamicTimeUsed;
     private int maxValue;
     private ArrayList<Item> selectedItems;
+    private boolean exact; // False if the engine stopped at a limit before proving optimality
+    private int upperBound; // Proven bound on the optimum, Integer.MAX_VALUE if unknown
+    private StrategyPlan plan; // How the engine was chosen, null if not planned
+    private ReducedGroup reduction; // What preprocessing removed, null if not reduced
+    private long cellsVisited; // DP cells, frontier pairs or search nodes the engine went through
+    private long improvements; // Cells (or the incumbent) the engine improved
+    private long peakTableBytes; // Most memory the engine's tables held at once
+    private String engine; // What produced the result, null until measured
+    private long wallTimeNanos;
+    private long bytesAllocated; // By the solving thread, -1 if the JVM cannot tell
 
     /**
      * Constructs a GroupResult with the specified values.
@@ -26,6 +36,43 @@ public class GroupResult {
         this.dynamicTimeUsed = dynamicTimeUsed;
         this.maxValue = maxValue;
         this.selectedItems = selectedItems;
+        this.exact = true;
+        this.upperBound = maxValue;
+    }
+
+    /**
+     * Constructs a GroupResult that may not be proven optimal.
+     * 
+     * @param groupIndex The index of the group
+     * @param itemsSelected Number of items selected in this group
+     * @param dynamicTimeUsed Total dynamic time/weight used
+     * @param maxValue Best value found for this group
+     * @param selectedItems List of items selected in this group
+     * @param exact Whether maxValue is proven to be the optimum
+     */
+    public GroupResult(int groupIndex, int itemsSelected, int dynamicTimeUsed,
+                       int maxValue, ArrayList<Item> selectedItems, boolean exact) {
+        this(groupIndex, itemsSelected, dynamicTimeUsed, maxValue, selectedItems);
+        this.exact = exact;
+        this.upperBound = exact ? maxValue : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Constructs a GroupResult with a proven upper bound on the group's optimum,
+     * e.g. from an approximation or a search that stopped early.
+     * 
+     * @param groupIndex The index of the group
+     * @param itemsSelected Number of items selected in this group
+     * @param dynamicTimeUsed Total dynamic time/weight used
+     * @param maxValue Best value found for this group
+     * @param selectedItems List of items selected in this group
+     * @param exact Whether maxValue is proven to be the optimum
+     * @param upperBound No selection in the group is worth more than this
+     */
+    public GroupResult(int groupIndex, int itemsSelected, int dynamicTimeUsed,
+                       int maxValue, ArrayList<Item> selectedItems, boolean exact, int upperBound) {
+        this(groupIndex, itemsSelected, dynamicTimeUsed, maxValue, selectedItems, exact);
+        this.upperBound = upperBound;
     }
 
     public int getGroupIndex() {
@@ -47,4 +94,98 @@ public class GroupResult {
     public ArrayList<Item> getSelectedItems() {
         return selectedItems;
     }
+
+    public boolean isExact() {
+        return exact;
+    }
+
+    public int getUpperBound() {
+        return upperBound;
+    }
+
+    public StrategyPlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * Records the plan of the engine that produced this result.
+     * 
+     * @param plan The plan that ran
+     */
+    public void setPlan(StrategyPlan plan) {
+        this.plan = plan;
+    }
+
+    public ReducedGroup getReduction() {
+        return reduction;
+    }
+
+    /**
+     * Records how the group was reduced before its engine ran.
+     * 
+     * @param reduction The reduced group the engine solved
+     */
+    public void setReduction(ReducedGroup reduction) {
+        this.reduction = reduction;
+    }
+
+    public long getCellsVisited() {
+        return cellsVisited;
+    }
+
+    public long getImprovements() {
+        return improvements;
+    }
+
+    public long getPeakTableBytes() {
+        return peakTableBytes;
+    }
+
+    /**
+     * Records how much work the engine did. Engines count after their passes (e.g.
+     * improvements are the choice bits set) rather than in their inner loops.
+     * 
+     * @param cellsVisited DP cells, frontier pairs or search nodes gone through
+     * @param improvements Cells (or, for branch-and-bound, the incumbent) improved
+     * @param peakTableBytes Most memory the engine's tables held at once
+     */
+    public void setWork(long cellsVisited, long improvements, long peakTableBytes) {
+        this.cellsVisited = cellsVisited;
+        this.improvements = improvements;
+        this.peakTableBytes = peakTableBytes;
+    }
+
+    /**
+     * Returns what produced this result: the strategy that ran, DYNAMIC for the
+     * dynamic-mode DP, CACHE or CHECKPOINT for a stored result, or null if the
+     * group was not measured (shared mode).
+     */
+    public String getEngine() {
+        return engine;
+    }
+
+    public long getWallTimeNanos() {
+        return wallTimeNanos;
+    }
+
+    /**
+     * Returns the bytes the solving thread allocated for this group, or -1 if the
+     * JVM does not report allocations.
+     */
+    public long getBytesAllocated() {
+        return bytesAllocated;
+    }
+
+    /**
+     * Records how the group was solved and what it cost.
+     * 
+     * @param engine What produced the result, see getEngine()
+     * @param wallTimeNanos Elapsed time for the group, including reduction and planning
+     * @param bytesAllocated Bytes the solving thread allocated, or -1 if unknown
+     */
+    public void setMeasurements(String engine, long wallTimeNanos, long bytesAllocated) {
+        this.engine = engine;
+        this.wallTimeNanos = wallTimeNanos;
+        this.bytesAllocated = bytesAllocated;
+    }
 }
@@ -0,0 +1,242 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of per-group solutions keyed by the group's content.
+ * The key is a SHA-256 digest of the group's sorted (value, weight) pairs together
+ * with T and the solver settings that affect the answer, so two groups with the same
+ * multiset of items share one entry regardless of their index or item order.
+ * Entries can be saved to and loaded from a file to reuse results across runs.
+ */
+public class GroupResultCache {
+    private static final int FILE_MAGIC = 0x4B475243; // "KGRC"
+    private static final int FILE_VERSION = 1;
+    private static final int KEY_BYTES = 32;
+
+    private final int maxEntries;
+    private final LinkedHashMap<Key, Entry> entries;
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param maxEntries Maximum number of groups kept before evicting the least recently used
+     */
+    public GroupResultCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > GroupResultCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Computes the content key of a group.
+     * Time Complexity: O(m log m) for sorting the items
+     * Space Complexity: O(m) for the sorted pairs
+     *
+     * @param groupItems Items in the group
+     * @param settings Solver settings that change the result, e.g. T, mode and R
+     * @return The key identifying this group's content under those settings
+     */
+    public static Key keyOf(GroupItems groupItems, long... settings) {
+        int m = groupItems.size();
+        long[] pairs = new long[m];
+        for (int i = 0; i < m; i++) {
+            pairs[i] = ((long) groupItems.getValue(i) << 32) | (groupItems.getWeight(i) & 0xFFFFFFFFL);
+        }
+        Arrays.sort(pairs);
+
+        ByteBuffer buffer = ByteBuffer.allocate(8 * (m + settings.length + 1));
+        buffer.putLong(m);
+        for (long setting : settings) buffer.putLong(setting);
+        for (long pair : pairs) buffer.putLong(pair);
+        try {
+            return new Key(MessageDigest.getInstance("SHA-256").digest(buffer.array()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Looks up a group and, on a hit, returns the stored result for the given group index.
+     *
+     * @param key The group's content key
+     * @param groupIndex The index of the group being solved
+     * @return The cached result remapped to groupIndex, or null on a miss
+     */
+    public synchronized GroupResult get(Key key, int groupIndex) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.toGroupResult(groupIndex);
+    }
+
+    /**
+     * Stores a group's result. Results that are not proven optimal are not cached,
+     * since they depend on search limits rather than on the group's content.
+     *
+     * @param key The group's content key
+     * @param result The solved result
+     */
+    public synchronized void put(Key key, GroupResult result) {
+        if (!result.isExact()) return;
+        entries.put(key, Entry.of(result));
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Writes all entries to a file, least recently used first, replacing it atomically.
+     *
+     * @param path The file to write
+     * @throws IOException If the file cannot be written
+     */
+    public synchronized void save(Path path) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<Key, Entry> e : entries.entrySet()) {
+                out.write(e.getKey().digest);
+                e.getValue().write(out);
+            }
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Adds the entries stored in a file written by save.
+     *
+     * @param path The file to read
+     * @throws IOException If the file cannot be read or has the wrong format
+     */
+    public synchronized void load(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                throw new IOException("Not a group result cache file: " + path);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                byte[] digest = new byte[KEY_BYTES];
+                in.readFully(digest);
+                entries.put(new Key(digest), Entry.read(in));
+            }
+        }
+    }
+
+    /**
+     * SHA-256 digest of a group's content and settings.
+     */
+    public static final class Key {
+        private final byte[] digest;
+        private final int hash;
+
+        private Key(byte[] digest) {
+            this.digest = digest;
+            this.hash = Arrays.hashCode(digest);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && Arrays.equals(digest, ((Key) o).digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A stored result without its group index, with the selection as (value, weight) pairs.
+     */
+    private static final class Entry {
+        private final int dynamicTimeUsed;
+        private final int maxValue;
+        private final int[] values;
+        private final int[] weights;
+
+        private Entry(int dynamicTimeUsed, int maxValue, int[] values, int[] weights) {
+            this.dynamicTimeUsed = dynamicTimeUsed;
+            this.maxValue = maxValue;
+            this.values = values;
+            this.weights = weights;
+        }
+
+        static Entry of(GroupResult result) {
+            ArrayList<Item> selected = result.getSelectedItems();
+            int[] values = new int[selected.size()];
+            int[] weights = new int[selected.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = selected.get(i).getValue();
+                weights[i] = selected.get(i).getBaseWeight();
+            }
+            return new Entry(result.getDynamicTimeUsed(), result.getMaxValue(), values, weights);
+        }
+
+        GroupResult toGroupResult(int groupIndex) {
+            ArrayList<Item> selected = new ArrayList<>(values.length);
+            for (int i = 0; i < values.length; i++) {
+                selected.add(new Item(values[i], weights[i], groupIndex));
+            }
+            return new GroupResult(groupIndex, values.length, dynamicTimeUsed, maxValue, selected);
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(dynamicTimeUsed);
+            out.writeInt(maxValue);
+            out.writeInt(values.length);
+            for (int i = 0; i < values.length; i++) {
+                out.writeInt(values[i]);
+                out.writeInt(weights[i]);
+            }
+        }
+
+        static Entry read(DataInputStream in) throws IOException {
+            int dynamicTimeUsed = in.readInt();
+            int maxValue = in.readInt();
+            int count = in.readInt();
+            int[] values = new int[count];
+            int[] weights = new int[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = in.readInt();
+                weights[i] = in.readInt();
+            }
+            return new Entry(dynamicTimeUsed, maxValue, values, weights);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one group solved by KnapsackSolver, so a recording
+ * of a production run (-XX:StartFlightRecording) shows which groups were slow and
+ * why. Its duration is the group's wall time; the fields mirror the measurements
+ * kept in GroupResult. When recording is off, begin/end/shouldCommit cost next to
+ * nothing and the fields are never filled.
+ */
+@Name("knapsack.GroupSolve")
+@Label("Group Solve")
+@Category("Knapsack")
+@Description("One group of a knapsack solve")
+@StackTrace(false)
+final class GroupSolveEvent extends Event {
+    @Label("Group")
+    int groupIndex;
+
+    @Label("Items")
+    int items;
+
+    @Label("Engine")
+    @Description("Strategy that ran, DYNAMIC, or CACHE / CHECKPOINT for a stored result")
+    String engine;
+
+    @Label("Cells Visited")
+    @Description("DP cells, frontier pairs or search nodes")
+    long cellsVisited;
+
+    @Label("Improvements")
+    long improvements;
+
+    @Label("Bytes Allocated")
+    @DataAmount
+    long bytesAllocated;
+
+    @Label("Peak Table Size")
+    @DataAmount
+    long peakTableBytes;
+
+    @Label("Max Value")
+    int maxValue;
+
+    @Label("Exact")
+    boolean exact;
+}
@@ -0,0 +1,21 @@
+/**
+ * Selects which engine solves each group in classic mode.
+ */
+public enum GroupStrategy {
+    /** Let the solver choose per group. */
+    AUTO,
+    /** Capacity-indexed DP over 0..T. */
+    DENSE_DP,
+    /** Capacity-indexed DP in O(T) memory, rebuilding the selection by divide and conquer. */
+    DENSE_DP_LINEAR,
+    /** Capacity-indexed DP with its tables in memory-mapped files; needs an off-heap directory. */
+    DENSE_DP_MAPPED,
+    /** Value-indexed DP over 0..sum of values. */
+    VALUE_DP,
+    /** Depth-first branch-and-bound with fractional upper bounds. */
+    BRANCH_AND_BOUND,
+    /** Sparse list of non-dominated (weight, value) pairs, falling back to DENSE_DP when it grows too large. */
+    PARETO_FRONTIER,
+    /** Value-indexed DP on scaled values, within a factor (1 - epsilon) of the optimum. */
+    FPTAS
+}
@@ -0,0 +1,234 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Keeps each group's classic DP profile alive between edits so that the optimum
+ * can be queried at any time without re-solving from scratch.
+ * Adding an item applies one O(T) DP pass to its group. Removing an item rolls
+ * the group back to the nearest checkpoint at or before that item and replays
+ * the items after it, so removing recent items is cheap and removing the oldest
+ * costs no more than re-solving the group.
+ * Results match KnapsackSolver in classic mode with the dense DP engine.
+ */
+public class IncrementalKnapsackSolver {
+    // A DP snapshot is kept every CHECKPOINT_INTERVAL items of a group, which makes
+    // the snapshots cost about as much memory as the choice bits
+    private static final int CHECKPOINT_INTERVAL = 32;
+
+    private final int G; // Number of groups
+    private final int T; // Time limit
+    private final GroupState[] groups;
+    private int nextItemId;
+    private long lastUpdateNanos;
+
+    /**
+     * Constructs an IncrementalKnapsackSolver with no items.
+     *
+     * @param G Number of groups
+     * @param T Time limit
+     */
+    public IncrementalKnapsackSolver(int G, int T) {
+        this.G = G;
+        this.T = T;
+        this.groups = new GroupState[G];
+    }
+
+    /**
+     * Adds an item to its group and updates that group's optimum.
+     * Time Complexity: O(T)
+     * Space Complexity: O(T / 64) for the item's choice bits
+     *
+     * @param value The value of the item
+     * @param weight The base weight of the item
+     * @param group The group index this item belongs to
+     * @return An id that can be passed to removeItem
+     * @throws IllegalArgumentException If the group is outside [0, G)
+     */
+    public synchronized int addItem(int value, int weight, int group) {
+        if (group < 0 || group >= G) {
+            throw new IllegalArgumentException("Group must be between 0 and " + (G - 1));
+        }
+        long start = System.nanoTime();
+        if (groups[group] == null) groups[group] = new GroupState();
+
+        int id = nextItemId++;
+        GroupState state = groups[group];
+        state.append(id, value, weight);
+        state.updateBest();
+        lastUpdateNanos = System.nanoTime() - start;
+        return id;
+    }
+
+    /**
+     * Removes a previously added item and updates its group's optimum.
+     * Time Complexity: O((m - c) * T) where c is the last checkpoint before the item
+     * Space Complexity: O(1) beyond the rebuilt choice bits
+     *
+     * @param itemId The id returned by addItem
+     * @throws IllegalArgumentException If no item has that id
+     */
+    public synchronized void removeItem(int itemId) {
+        long start = System.nanoTime();
+        for (GroupState state : groups) {
+            if (state != null && state.remove(itemId)) {
+                state.updateBest();
+                lastUpdateNanos = System.nanoTime() - start;
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Unknown item id: " + itemId);
+    }
+
+    /**
+     * Returns the best value across all groups.
+     * Time Complexity: O(G)
+     *
+     * @return The current maximum value
+     */
+    public synchronized int getMaxValue() {
+        int maxOverall = 0;
+        for (GroupState state : groups) {
+            if (state != null) maxOverall = Math.max(maxOverall, state.bestVal);
+        }
+        return maxOverall;
+    }
+
+    /**
+     * Builds the current result with the selection of every non-empty group.
+     * The reported time covers the last add or remove plus building the result.
+     * Time Complexity: O(G + N) to walk back the choice bits of every group
+     * Space Complexity: O(G * k) for the selections
+     *
+     * @return SolverResult for the current set of items
+     */
+    public synchronized SolverResult getResult() {
+        long start = System.nanoTime();
+        int maxOverall = 0;
+        ArrayList<GroupResult> groupResults = new ArrayList<>();
+        for (int group = 0; group < G; group++) {
+            GroupState state = groups[group];
+            if (state == null || state.size == 0) continue;
+
+            GroupResult groupResult = state.toGroupResult(group);
+            groupResults.add(groupResult);
+            maxOverall = Math.max(maxOverall, groupResult.getMaxValue());
+        }
+        double totalTime = (lastUpdateNanos + System.nanoTime() - start) / 1_000_000.0;
+        return new SolverResult(maxOverall, totalTime, groupResults);
+    }
+
+    /**
+     * One group's items in insertion order with its live DP row, the choice bits
+     * of every item and periodic DP snapshots for rollback.
+     */
+    private class GroupState {
+        private final int words = (T >>> 6) + 1;
+        private int[] ids = new int[CHECKPOINT_INTERVAL];
+        private int[] values = new int[CHECKPOINT_INTERVAL];
+        private int[] weights = new int[CHECKPOINT_INTERVAL];
+        private int size;
+        private final int[] dp = new int[T + 1];
+        private final ArrayList<long[]> choiceRows = new ArrayList<>();
+        // checkpoints.get(c) is the DP row after the first c * CHECKPOINT_INTERVAL items
+        private final ArrayList<int[]> checkpoints = new ArrayList<>();
+        private int bestVal;
+        private int bestT;
+
+        /**
+         * Appends an item and applies its DP pass.
+         */
+        void append(int id, int value, int weight) {
+            if (size == ids.length) {
+                int capacity = size + (size >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                values = Arrays.copyOf(values, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            ids[size] = id;
+            values[size] = value;
+            weights[size] = weight;
+            applyItem(size);
+            size++;
+        }
+
+        /**
+         * Applies item i to the live DP row, recording its choice bits.
+         * Takes a snapshot first when i starts a new checkpoint interval.
+         */
+        private void applyItem(int i) {
+            if (i % CHECKPOINT_INTERVAL == 0) {
+                checkpoints.add(dp.clone());
+            }
+            long[] choice = new long[words];
+            int w = weights[i];
+            int v = values[i];
+            for (int t = T; t >= w; t--) {
+                int nv = dp[t - w] + v;
+                if (nv > dp[t]) {
+                    dp[t] = nv;
+                    choice[t >>> 6] |= 1L << t;
+                }
+            }
+            choiceRows.add(choice);
+        }
+
+        /**
+         * Removes the item with the given id, if it is in this group, by restoring
+         * the checkpoint at or before it and replaying the later items.
+         *
+         * @return false if the item is not in this group
+         */
+        boolean remove(int id) {
+            int pos = 0;
+            while (pos < size && ids[pos] != id) pos++;
+            if (pos == size) return false;
+
+            int checkpoint = pos / CHECKPOINT_INTERVAL;
+            int replayFrom = checkpoint * CHECKPOINT_INTERVAL;
+            System.arraycopy(checkpoints.get(checkpoint), 0, dp, 0, T + 1);
+            checkpoints.subList(checkpoint, checkpoints.size()).clear();
+            choiceRows.subList(replayFrom, choiceRows.size()).clear();
+
+            int tail = size - pos - 1;
+            System.arraycopy(ids, pos + 1, ids, pos, tail);
+            System.arraycopy(values, pos + 1, values, pos, tail);
+            System.arraycopy(weights, pos + 1, weights, pos, tail);
+            size--;
+            for (int i = replayFrom; i < size; i++) {
+                applyItem(i);
+            }
+            return true;
+        }
+
+        /**
+         * Finds the best value and the smallest capacity reaching it.
+         */
+        void updateBest() {
+            bestVal = 0;
+            bestT = 0;
+            for (int t = 0; t <= T; t++) {
+                if (dp[t] > bestVal) {
+                    bestVal = dp[t];
+                    bestT = t;
+                }
+            }
+        }
+
+        /**
+         * Rebuilds the selection by walking the choice bits back from bestT.
+         */
+        GroupResult toGroupResult(int group) {
+            ArrayList<Item> picked = new ArrayList<>();
+            int t = bestT;
+            for (int i = size - 1; i >= 0; i--) {
+                if ((choiceRows.get(i)[t >>> 6] & (1L << t)) != 0) {
+                    picked.add(new Item(values[i], weights[i], group));
+                    t -= weights[i];
+                }
+            }
+            Collections.reverse(picked);
+            return new GroupResult(group, picked.size(), bestT, bestVal, picked);
+        }
+    }
+}
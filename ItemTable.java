@@ -0,0 +1,119 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores items as parallel primitive arrays instead of Item objects.
+ * Costs 12 bytes per item with no object headers or pointers, and keeps the
+ * values and weights the DP walks through next to each other in memory.
+ */
+public class ItemTable {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] values;
+    private int[] weights;
+    private int[] groups;
+    private int size;
+
+    /**
+     * Constructs an empty table with a default capacity.
+     */
+    public ItemTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty table sized for the expected number of items.
+     * 
+     * @param capacity Number of items to reserve space for
+     */
+    public ItemTable(int capacity) {
+        values = new int[capacity];
+        weights = new int[capacity];
+        groups = new int[capacity];
+    }
+
+    /**
+     * Copies a list of Item objects into a new table.
+     * Time Complexity: O(N) where N is the number of items
+     * Space Complexity: O(N) for the three arrays
+     * 
+     * @param items The items to copy
+     * @return A table holding the same items in the same order
+     */
+    public static ItemTable fromItems(List<Item> items) {
+        ItemTable table = new ItemTable(items.size());
+        for (Item item : items) {
+            table.add(item.getValue(), item.getBaseWeight(), item.getGroup());
+        }
+        return table;
+    }
+
+    /**
+     * Appends an item, growing the arrays by half when full.
+     * Time Complexity: O(1) amortized
+     * 
+     * @param value The value of the item
+     * @param weight The base weight of the item
+     * @param group The group index this item belongs to
+     */
+    public void add(int value, int weight, int group) {
+        if (size == values.length) {
+            int capacity = Math.max(DEFAULT_CAPACITY, size + (size >> 1));
+            values = Arrays.copyOf(values, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            groups = Arrays.copyOf(groups, capacity);
+        }
+        values[size] = value;
+        weights[size] = weight;
+        groups[size] = group;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getValue(int index) {
+        return values[index];
+    }
+
+    public int getWeight(int index) {
+        return weights[index];
+    }
+
+    public int getGroup(int index) {
+        return groups[index];
+    }
+
+    /**
+     * Creates an Item object for one row, for display and results.
+     * 
+     * @param index Row index
+     * @return A new Item with the row's value, weight and group
+     */
+    public Item get(int index) {
+        return new Item(values[index], weights[index], groups[index]);
+    }
+
+    /**
+     * Removes all items while keeping the allocated capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Shrinks the arrays to the current number of items.
+     */
+    public void trimToSize() {
+        if (size < values.length) {
+            values = Arrays.copyOf(values, size);
+            weights = Arrays.copyOf(weights, size);
+            groups = Arrays.copyOf(groups, size);
+        }
+    }
+}
@@ -4,7 +4,6 @@ import javax.swing.table.JTableHeader;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.*;
 
 /**
  * Main GUI application for the Knapsack Problem Solver.
@@ -12,7 +11,8 @@ import java.util.*;
  */
 public class KnapsackGUI extends JFrame {
     // Input fields
-    private JTextField tfG, tfT, tfR;
+    private JTextField tfG, tfT, tfR, tfEpsilon;
+    private JComboBox<SolverMode> cbMode;
     
     // Table components
     private JTable itemsTable;
@@ -25,14 +25,24 @@ public class KnapsackGUI extends JFrame {
     private JButton btnAddItem, btnSolve, btnClear, btnReset;
     
     // Data storage
-    private ArrayList<Item> items;
+    private ItemTable items;
+
+    // Classic engines scale with values or frontiers when T is huge; dynamic and
+    // shared mode always allocate rows of T + 1 cells
+    private static final int CLASSIC_MAX_T = 1_000_000_000;
+    private static final int TABLE_MAX_T = 10_000;
+
+    // Live classic DP state reused across solves while G and T stay the same
+    private static final int INCREMENTAL_MAX_T = 1_000_000;
+    private IncrementalKnapsackSolver incrementalSolver;
+    private int incrementalG, incrementalT;
 
     /**
      * Constructs the main GUI window.
      */
     public KnapsackGUI() {
         // Initialize with expected capacity to reduce reallocations
-        items = new ArrayList<>(60); // Expected sample data size
+        items = new ItemTable(60); // Expected sample data size
         initializeGUI();
     }
 
@@ -153,6 +163,20 @@ public class KnapsackGUI extends JFrame {
         tfR = createStyledTextField("0");
         panel.add(tfR, gbc);
 
+        // Solver mode
+        gbc.gridx = 0; gbc.gridy = 3; gbc.weightx = 0.4;
+        panel.add(createStyledLabel("Mode:"), gbc);
+        gbc.gridx = 1; gbc.weightx = 0.6;
+        cbMode = createStyledComboBox(SolverMode.values());
+        panel.add(cbMode, gbc);
+
+        // Approximation tolerance, 0 for exact
+        gbc.gridx = 0; gbc.gridy = 4; gbc.weightx = 0.4;
+        panel.add(createStyledLabel("Epsilon (%):"), gbc);
+        gbc.gridx = 1; gbc.weightx = 0.6;
+        tfEpsilon = createStyledTextField("0");
+        panel.add(tfEpsilon, gbc);
+
         return panel;
     }
 
@@ -368,6 +392,19 @@ public class KnapsackGUI extends JFrame {
         return field;
     }
 
+    /**
+     * Creates a styled combo box with consistent formatting.
+     */
+    private <T> JComboBox<T> createStyledComboBox(T[] options) {
+        JComboBox<T> comboBox = new JComboBox<>(options);
+        comboBox.setBackground(UIConstants.DARK_GRAY);
+        comboBox.setForeground(UIConstants.LIGHT_GRAY);
+        comboBox.setBorder(BorderFactory.createLineBorder(UIConstants.MEDIUM_BLUE, 1));
+        comboBox.setFont(UIConstants.LABEL_FONT);
+        comboBox.setPreferredSize(UIConstants.TEXTFIELD_SIZE);
+        return comboBox;
+    }
+
     /**
      * Creates a styled button with hover effects and rounded corners.
      */
@@ -501,9 +538,9 @@ public class KnapsackGUI extends JFrame {
     }
 
     /**
-     * Adds an item to the table and items list.
+     * Adds an item to the table and the item store.
      * Time Complexity: O(1) - Constant time for array creation and additions
-     * Space Complexity: O(1) - Single row array and one Item object
+     * Space Complexity: O(1) - Single row array and one item table entry
      */
     private void addItemToTable(int value, int weight, int group, String status) {
         String[] row = {
@@ -514,7 +551,10 @@ public class KnapsackGUI extends JFrame {
             status
         };
         tableModel.addRow(row);
-        items.add(new Item(value, weight, group));
+        items.add(value, weight, group);
+        if (incrementalSolver != null && group < incrementalG) {
+            incrementalSolver.addItem(value, weight, group);
+        }
     }
 
     // ==================== Action Listeners ====================
@@ -611,8 +651,11 @@ public class KnapsackGUI extends JFrame {
         try {
             // Validate parameters with proper ranges
             int G = validateAndParseInt(tfG.getText(), "Groups (G)", 1, 1000);
-            int T = validateAndParseInt(tfT.getText(), "Time Limit (T)", 1, 10000);
+            SolverMode mode = (SolverMode) cbMode.getSelectedItem();
+            int T = validateAndParseInt(tfT.getText(), "Time Limit (T)", 1,
+                mode == SolverMode.CLASSIC ? CLASSIC_MAX_T : TABLE_MAX_T);
             int R = validateAndParseInt(tfR.getText(), "Rate (R)", 0, 1000);
+            int epsilonPercent = validateAndParseInt(tfEpsilon.getText(), "Epsilon (%)", 0, 99);
 
             if (items.isEmpty()) {
                 showMessage("Please add some items first!", "Error");
@@ -624,17 +667,56 @@ public class KnapsackGUI extends JFrame {
 
             resultArea.setText("Solving knapsack problem... Please wait...\n");
             
+            // Classic solves reuse the live DP state, so only edits since the last
+            // solve cost anything; it is rebuilt when G or T change
+            boolean incremental = mode == SolverMode.CLASSIC && T <= INCREMENTAL_MAX_T
+                && epsilonPercent == 0;
+            ItemTable pending = null;
+            if (!incremental) {
+                incrementalSolver = null;
+            } else if (incrementalSolver == null || incrementalG != G || incrementalT != T) {
+                incrementalSolver = new IncrementalKnapsackSolver(G, T);
+                incrementalG = G;
+                incrementalT = T;
+                pending = new ItemTable(items.size());
+                for (int i = 0; i < items.size(); i++) {
+                    pending.add(items.getValue(i), items.getWeight(i), items.getGroup(i));
+                }
+            }
+            IncrementalKnapsackSolver live = incrementalSolver;
+            ItemTable toLoad = pending;
+
             // Run solver in a separate thread to keep UI responsive
             new Thread(() -> {
                 try {
-                    KnapsackSolver solver = new KnapsackSolver(G, T, R, items);
-                    SolverResult result = solver.solve();
+                    SolverResult result;
+                    if (live != null) {
+                        if (toLoad != null) {
+                            for (int i = 0; i < toLoad.size(); i++) {
+                                if (toLoad.getGroup(i) < G) {
+                                    live.addItem(toLoad.getValue(i), toLoad.getWeight(i), toLoad.getGroup(i));
+                                }
+                            }
+                        }
+                        result = live.getResult();
+                    } else {
+                        KnapsackSolver solver = new KnapsackSolver(G, T, R, items);
+                        solver.setMode(mode);
+                        if (epsilonPercent > 0) {
+                            // Approximate every classic group within the chosen tolerance
+                            solver.setStrategy(GroupStrategy.FPTAS);
+                            solver.setApproximation(epsilonPercent / 100.0, 0);
+                        }
+                        result = solver.solve();
+                    }
 
                     SwingUtilities.invokeLater(() -> displayResults(result));
-                } catch (Exception ex) {
-                    SwingUtilities.invokeLater(() -> 
-                        showMessage("Error during calculation: " + ex.getMessage(), "Error")
-                    );
+                } catch (Throwable ex) {
+                    // Errors too (OutOfMemoryError): otherwise the window keeps saying "Please wait"
+                    SwingUtilities.invokeLater(() -> {
+                        resultArea.setText("Solving failed: " + ex + "\n");
+                        showMessage("Error during calculation: " + ex.getMessage(), "Error");
+                    });
                 }
             }).start();
 
@@ -675,6 +757,7 @@ public class KnapsackGUI extends JFrame {
             tableModel.setRowCount(0);
             items.clear();
             items.trimToSize(); // Optimize memory after clearing
+            incrementalSolver = null;
             resultArea.setText(ResultFormatter.getInitialResultText());
             showMessage("All items cleared!", "Success");
         }
@@ -696,9 +779,12 @@ public class KnapsackGUI extends JFrame {
             tfG.setText("2");
             tfT.setText("100");
             tfR.setText("0");
+            tfEpsilon.setText("0");
+            cbMode.setSelectedItem(SolverMode.CLASSIC);
             tableModel.setRowCount(0);
             items.clear();
             items.trimToSize(); // Optimize memory after clearing
+            incrementalSolver = null;
             resultArea.setText(ResultFormatter.getInitialResultText());
             showMessage("All data reset to defaults!", "Success");
         }
@@ -760,7 +846,7 @@ public class KnapsackGUI extends JFrame {
     }
 
     /**
-     * Optimizes memory usage by trimming ArrayList capacity to match size.
+     * Optimizes memory usage by trimming the item table capacity to match size.
      * Time Complexity: O(n) - creates new array and copies elements
      * Space Complexity: O(n) - temporarily doubles memory during trimming
      */
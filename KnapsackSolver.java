@@ -1,4 +1,14 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
 /**
  * Solves the knapsack problem using dynamic programming.
@@ -7,9 +17,37 @@ import java.util.ArrayList;
 public class KnapsackSolver {
     private int G; // Number of groups
     private int T; // Time limit
-    @SuppressWarnings("unused")
-    private int R; // Rate multiplier (unused in classic mode)
-    private ArrayList<Item> items;
+    private int R; // Rate multiplier (used in dynamic mode)
+    private ItemTable items;
+    private SolverMode mode = SolverMode.CLASSIC;
+    private boolean parallel; // Solve groups concurrently
+    private ExecutorService executor; // Pool for parallel mode, common pool if null
+    private boolean vectorized; // Use the Vector API classic kernel when available
+    private int groupThreads = 1; // Threads sharing one large group's classic DP
+    private GroupStrategy strategy = GroupStrategy.AUTO;
+    private long branchAndBoundNodeLimit = DEFAULT_BRANCH_AND_BOUND_NODE_LIMIT;
+    private long branchAndBoundTimeLimitMillis; // 0 for no limit
+    private GroupResultCache cache; // Per-group results keyed by content, or null
+    private double approximationEpsilon; // 0 unless approximate answers are allowed
+    private long approximationBudgetMillis; // 0 for no limit
+    private boolean reduction = true; // Run GroupReducer before each classic group
+    private Path offHeapDirectory; // Where mapped DP tables may be created, or null for heap only
+    private Path checkpointFile; // Where progress is saved for a restarted solve, or null
+    private long checkpointIntervalMillis;
+    private SolveCheckpoint checkpoint; // Open during solve() when a checkpoint file is set
+
+    private static final int UNREACHABLE = Integer.MIN_VALUE;
+    private static final int UNREACHABLE_WEIGHT = Integer.MAX_VALUE;
+    private static final long DEFAULT_BRANCH_AND_BOUND_NODE_LIMIT = 50_000_000L;
+    // Used by a forced FPTAS strategy when no epsilon was set
+    private static final double DEFAULT_APPROXIMATION_EPSILON = 0.01;
+
+    // Checked on the boot layer so VectorKernel is never loaded without the module
+    private static final boolean VECTOR_API_AVAILABLE =
+        ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    // Per-thread allocation counter, or null if this JVM has none
+    private static final com.sun.management.ThreadMXBean ALLOCATION_COUNTER = allocationCounter();
 
     /**
      * Constructs a KnapsackSolver with the specified parameters.
@@ -20,37 +58,204 @@ public class KnapsackSolver {
      * @param items List of all items to consider
      */
     public KnapsackSolver(int G, int T, int R, ArrayList<Item> items) {
+        this(G, T, R, ItemTable.fromItems(items));
+    }
+
+    /**
+     * Constructs a KnapsackSolver over a primitive item table.
+     * 
+     * @param G Number of groups
+     * @param T Time limit
+     * @param R Rate multiplier for dynamic weights
+     * @param items Table of all items to consider
+     */
+    public KnapsackSolver(int G, int T, int R, ItemTable items) {
         this.G = G;
         this.T = T;
         this.R = R;
         this.items = items;
     }
 
+    /**
+     * Sets how item weights are charged against the time limit.
+     * 
+     * @param mode CLASSIC for base weights only, DYNAMIC to apply the rate R
+     */
+    public void setMode(SolverMode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Enables or disables solving independent groups concurrently.
+     * 
+     * @param parallel true to solve groups in parallel
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Sets the executor used in parallel mode.
+     * When null, the common ForkJoinPool is used.
+     * 
+     * @param executor The executor to run group tasks on
+     */
+    public void setExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Sets how many threads share the classic DP of a single group. Each item pass
+     * is split over slices of the capacity range (see SplitCapacityKernel), which
+     * helps when one huge group dominates the instance and group-level parallelism
+     * leaves the other cores idle. Groups with fewer than 64K capacities per thread
+     * use fewer threads; results are identical to the sequential DP.
+     * 
+     * @param groupThreads Threads per group, 1 (the default) for the sequential DP
+     * @throws IllegalArgumentException If groupThreads is less than 1
+     */
+    public void setGroupThreads(int groupThreads) {
+        if (groupThreads < 1) {
+            throw new IllegalArgumentException("Group threads must be at least 1");
+        }
+        this.groupThreads = groupThreads;
+    }
+
+    /**
+     * Enables the Vector API kernel for classic mode. Has no effect unless the
+     * JVM was started with --add-modules jdk.incubator.vector, in which case the
+     * scalar loop is used instead; both produce identical results.
+     * 
+     * @param vectorized true to use the vector kernel when available
+     */
+    public void setVectorized(boolean vectorized) {
+        this.vectorized = vectorized;
+    }
+
+    /**
+     * Selects the engine used for every group in classic mode.
+     * AUTO (the default) lets StrategyPlanner choose the cheapest engine per group;
+     * other values force one engine.
+     * 
+     * @param strategy The group strategy
+     */
+    public void setStrategy(GroupStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Enables the preprocessing pass that removes dominated items, bundles
+     * duplicates and divides weights by their GCD before each classic group is
+     * solved (see GroupReducer). Results are reported in terms of the original items.
+     * 
+     * @param reduction true (the default) to reduce groups before solving them
+     */
+    public void setReduction(boolean reduction) {
+        this.reduction = reduction;
+    }
+
+    /**
+     * Allows classic groups to keep their DP tables in memory-mapped files in the
+     * given directory (see MappedDenseDpSolver). AUTO uses them for groups whose
+     * tables do not fit on the heap, within half the directory's free space.
+     * 
+     * @param directory Directory for temporary table files, or null to stay on the heap
+     */
+    public void setOffHeapDirectory(Path directory) {
+        this.offHeapDirectory = directory;
+    }
+
+    /**
+     * Saves the progress of solve() to a file at the given interval, so that a solve
+     * of the same instance with the same settings started after a crash or a kill
+     * resumes from it (see SolveCheckpoint). Completed groups are saved in every
+     * mode but SHARED; a dense DP group in progress is also saved item by item when
+     * groups are solved sequentially. The file is deleted once a solve completes.
+     * 
+     * @param file The checkpoint file, or null to disable checkpoints
+     * @param intervalMillis Minimum time between two checkpoints
+     * @throws IllegalArgumentException If intervalMillis is negative
+     */
+    public void setCheckpoint(Path file, long intervalMillis) {
+        if (intervalMillis < 0) {
+            throw new IllegalArgumentException("Checkpoint interval must not be negative");
+        }
+        this.checkpointFile = file;
+        this.checkpointIntervalMillis = intervalMillis;
+    }
+
+    /**
+     * Sets the limits for branch-and-bound groups. A group that hits a limit
+     * reports its best selection so far with GroupResult.isExact() false.
+     * 
+     * @param nodeLimit Maximum nodes per group, or 0 for no limit
+     * @param timeLimitMillis Maximum search time per group, or 0 for no limit
+     */
+    public void setBranchAndBoundLimits(long nodeLimit, long timeLimitMillis) {
+        this.branchAndBoundNodeLimit = nodeLimit;
+        this.branchAndBoundTimeLimitMillis = timeLimitMillis;
+    }
+
+    /**
+     * Allows approximate answers within a factor (1 - epsilon) of the optimum.
+     * With AUTO, groups too large for an exact table use the FPTAS instead of
+     * branch-and-bound; the FPTAS strategy uses it for every group. Approximate
+     * groups report an upper bound on their optimum in GroupResult.getUpperBound().
+     * 
+     * @param epsilon Allowed relative loss in (0, 1), or 0 to solve exactly
+     * @param timeBudgetMillis Time allowed per approximate group, or 0 for no limit;
+     *                         when it runs out the group reports a coarser approximation
+     * @throws IllegalArgumentException If epsilon is outside [0, 1)
+     */
+    public void setApproximation(double epsilon, long timeBudgetMillis) {
+        if (!(epsilon >= 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("Epsilon must be at least 0 and below 1");
+        }
+        this.approximationEpsilon = epsilon;
+        this.approximationBudgetMillis = timeBudgetMillis;
+    }
+
+    /**
+     * Sets a cache consulted before solving each group. Groups whose items, T and
+     * mode match a cached entry skip the DP entirely.
+     * 
+     * @param cache The cache to use, or null to disable caching
+     */
+    public void setCache(GroupResultCache cache) {
+        this.cache = cache;
+    }
+
     /**
      * Solves the knapsack problem for all groups.
-     * Overall Time Complexity: O(G * m * T * k) where:
+     * Overall Time Complexity: O(G * m * T) where:
      *   - G is the number of groups
      *   - m is the average items per group
      *   - T is the time limit
-     *   - k is the average selection size
-     * Overall Space Complexity: O(G * m * T * k)
+     * Overall Space Complexity: O(m * T / 64) for the largest group's choice bits
      * 
      * @return SolverResult containing the maximum value and detailed group results
      */
     public SolverResult solve() {
-        // Match the old unenhanced solution: solve per-group using classic 0/1 knapsack
-        // with base weights only (ignore R parameter for compatibility with original outputs).
+        // Classic mode matches the original outputs (base weights only, R ignored);
+        // dynamic mode charges the k-th selected item baseWeight + R * k.
         long totalStartTime = System.nanoTime();
 
-        int maxOverall = 0;
-        ArrayList<GroupResult> groupResults = new ArrayList<>();
+        if (mode == SolverMode.SHARED) {
+            return solveShared(totalStartTime);
+        }
 
-        for (int group = 0; group < G; group++) {
-            ArrayList<Item> groupItems = getItemsForGroup(group);
-            if (groupItems.isEmpty()) continue;
+        GroupPartition partition = new GroupPartition(G, items);
+        ArrayList<GroupResult> groupResults;
+        if (checkpointFile == null) {
+            groupResults = parallel
+                ? solveGroupsParallel(partition)
+                : solveGroupsSequential(partition);
+        } else {
+            groupResults = solveGroupsWithCheckpoint(partition);
+        }
 
-            GroupResult groupResult = solveClassicGroup(group, groupItems);
-            groupResults.add(groupResult);
+        int maxOverall = 0;
+        for (GroupResult groupResult : groupResults) {
             maxOverall = Math.max(maxOverall, groupResult.getMaxValue());
         }
 
@@ -60,71 +265,553 @@ public class KnapsackSolver {
     }
 
     /**
-     * Filters items belonging to a specific group.
-     * Time Complexity: O(N) where N is total items
-     * Space Complexity: O(m) where m is items in the group
+     * Solves every non-empty group while saving progress to the checkpoint file,
+     * starting from what an earlier run of the same instance saved there. The file
+     * is kept if the solve fails and deleted once it completes.
+     * 
+     * @return Results for each non-empty group, ordered by group index
+     * @throws IllegalStateException If the checkpoint file cannot be read or deleted
+     */
+    private ArrayList<GroupResult> solveGroupsWithCheckpoint(GroupPartition partition) {
+        byte[] fingerprint = SolveCheckpoint.fingerprintOf(items, G, T, R, mode.ordinal(), strategy.ordinal(),
+            reduction ? 1 : 0, Double.doubleToLongBits(approximationEpsilon), approximationBudgetMillis,
+            branchAndBoundNodeLimit, branchAndBoundTimeLimitMillis);
+        try {
+            checkpoint = SolveCheckpoint.open(checkpointFile, checkpointIntervalMillis, fingerprint);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read checkpoint " + checkpointFile + ": " + e.getMessage(), e);
+        }
+        try {
+            ArrayList<GroupResult> groupResults = parallel
+                ? solveGroupsParallel(partition)
+                : solveGroupsSequential(partition);
+            checkpoint.finish();
+            return groupResults;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not delete checkpoint " + checkpointFile + ": " + e.getMessage(), e);
+        } finally {
+            checkpoint.close();
+            checkpoint = null;
+        }
+    }
+
+    /**
+     * Solves the shared-capacity mode: all groups' selections together must fit in
+     * T and the answer is their total value. Group profiles are merged by max-plus
+     * convolution; see SharedCapacitySolver.
+     * Time Complexity: O(G * m * T) for the profiles plus the merges
+     * Space Complexity: O(N * T / 64 + G * T)
+     * 
+     * @param totalStartTime System.nanoTime() at the start of the solve
+     * @return SolverResult with the best total and each group's share of it
+     */
+    private SolverResult solveShared(long totalStartTime) {
+        ArrayList<GroupResult> groupResults = new SharedCapacitySolver(T).solve(solveProfile());
+        long total = 0;
+        for (GroupResult groupResult : groupResults) {
+            total += groupResult.getMaxValue();
+        }
+        double totalTime = (System.nanoTime() - totalStartTime) / 1_000_000.0;
+        return new SolverResult(total, totalTime, groupResults);
+    }
+
+    /**
+     * Computes, for every non-empty group, the best value at every capacity
+     * 0..T in one pass. Any capacity's selection can then be rebuilt from the
+     * returned profile without solving again. Uses classic weights (R is ignored).
+     * Groups are profiled concurrently when parallel mode is enabled.
+     * Time Complexity: O(G * m * T)
+     * Space Complexity: O(N * T / 64) since each group keeps its choice bits
+     * 
+     * @return One profile per non-empty group, ordered by group index
+     */
+    public ArrayList<CapacityProfile> solveProfile() {
+        GroupPartition partition = new GroupPartition(G, items);
+        if (parallel) {
+            return forEachGroupParallel(partition, this::buildProfile);
+        }
+        ArrayList<CapacityProfile> profiles = new ArrayList<>();
+        for (int group = 0; group < G; group++) {
+            if (partition.size(group) == 0) continue;
+
+            profiles.add(buildProfile(partition.group(group)));
+        }
+        return profiles;
+    }
+
+    /**
+     * Runs the classic DP for one group and keeps its row and choice bits as a profile.
+     * Time Complexity: O(m * T)
+     * Space Complexity: O(T + m * T / 64)
+     */
+    private CapacityProfile buildProfile(GroupItems groupItems) {
+        int[] dp = new int[T + 1];
+        int words = (T >>> 6) + 1;
+        long[] choice = new long[Math.multiplyExact(groupItems.size(), words)];
+        fillClassicTable(groupItems, T, dp, choice, words, false);
+        return new CapacityProfile(groupItems, dp, choice, words);
+    }
+
+    /**
+     * Solves every non-empty group one after another in group order.
+     * 
+     * @return Results for each non-empty group, ordered by group index
+     */
+    private ArrayList<GroupResult> solveGroupsSequential(GroupPartition partition) {
+        ArrayList<GroupResult> groupResults = new ArrayList<>();
+        for (int group = 0; group < G; group++) {
+            if (partition.size(group) == 0) continue;
+
+            groupResults.add(solveGroup(partition.group(group)));
+        }
+        return groupResults;
+    }
+
+    /**
+     * Solves every non-empty group concurrently on the configured executor.
+     * 
+     * @return Results for each non-empty group, ordered by group index
+     */
+    private ArrayList<GroupResult> solveGroupsParallel(GroupPartition partition) {
+        return forEachGroupParallel(partition, this::solveGroup);
+    }
+
+    /**
+     * Runs a task for every non-empty group concurrently on the configured executor.
+     * Groups are submitted largest first so a heavy group does not start last
+     * and leave the other workers idle; results are still returned in group order.
      * 
-     * @param group The group index to filter by
-     * @return List of items belonging to the specified group
+     * @param partition The items partitioned by group
+     * @param task The work to do for one group
+     * @return The task's result for each non-empty group, ordered by group index
      */
-    private ArrayList<Item> getItemsForGroup(int group) {
-        ArrayList<Item> groupItems = new ArrayList<>();
-        for (Item item : items) {
-            if (item.getGroup() == group) {
-                groupItems.add(item);
+    private <V> ArrayList<V> forEachGroupParallel(GroupPartition partition, Function<GroupItems, V> task) {
+        ArrayList<Integer> order = new ArrayList<>();
+        for (int group = 0; group < G; group++) {
+            if (partition.size(group) > 0) order.add(group);
+        }
+        order.sort((a, b) -> Integer.compare(partition.size(b), partition.size(a)));
+
+        ExecutorService pool = executor != null ? executor : ForkJoinPool.commonPool();
+        // Indexed by group, null for empty groups
+        ArrayList<Future<V>> futures = new ArrayList<>(Collections.nCopies(G, null));
+        for (int group : order) {
+            GroupItems groupItems = partition.group(group);
+            futures.set(group, pool.submit(() -> task.apply(groupItems)));
+        }
+
+        ArrayList<V> results = new ArrayList<>();
+        try {
+            for (Future<V> future : futures) {
+                if (future != null) results.add(future.get());
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.stream().filter(f -> f != null).forEach(f -> f.cancel(true));
+            throw new IllegalStateException("Interrupted while solving groups", e);
+        } catch (ExecutionException e) {
+            futures.stream().filter(f -> f != null).forEach(f -> f.cancel(true));
+            throw new IllegalStateException("Group solve failed: " + e.getCause().getMessage(), e.getCause());
         }
-        return groupItems;
+        return results;
     }
 
     /**
-     * Solves the knapsack problem for a single group using dynamic programming.
-     * Time Complexity: O(m * T * k) where m is items, T is time limit, k is selection size
-     * Space Complexity: O(m * T * k) for DP table and selection tracking
+     * Solves a single group, or takes its result from the checkpoint when an
+     * earlier run completed it or from the cache when one is set. Records the
+     * result in the checkpoint, measures the group's time and allocations, and
+     * emits a GroupSolveEvent when flight recording is on.
      * 
-     * @param groupIndex The index of the group being solved
-     * @param groupItems List of items in this group
+     * @param groupItems Items in this group
      * @return GroupResult containing the optimal solution for this group
      */
-    private GroupResult solveClassicGroup(int groupIndex, ArrayList<Item> groupItems) {
-        // 1D 0/1 knapsack by base weights only, capacity T
-        int[] dp = new int[T + 1];
-        @SuppressWarnings("unchecked")
-        ArrayList<Item>[] sel = new ArrayList[T + 1];
-        for (int t = 0; t <= T; t++) sel[t] = new ArrayList<>();
-
-        for (Item it : groupItems) {
-            int w = it.getBaseWeight();
-            int v = it.getValue();
-            for (int t = T; t >= w; t--) {
-                int nv = dp[t - w] + v;
-                if (nv > dp[t]) {
-                    dp[t] = nv;
-                    ArrayList<Item> picked = new ArrayList<>(sel[t - w]);
-                    picked.add(it);
-                    sel[t] = picked;
-                }
+    private GroupResult solveGroup(GroupItems groupItems) {
+        GroupSolveEvent event = new GroupSolveEvent();
+        event.begin();
+        long startTime = System.nanoTime();
+        long startBytes = allocatedBytes();
+
+        GroupResult result = checkpoint != null ? checkpoint.completedResult(groupItems.getGroupIndex()) : null;
+        String engine = "CHECKPOINT";
+        if (result == null) {
+            // Every exact engine reports the same value and time, so only the
+            // settings that change the answer are part of the key
+            boolean dynamic = mode == SolverMode.DYNAMIC && R != 0;
+            GroupResultCache.Key key = cache != null
+                ? GroupResultCache.keyOf(groupItems, T, dynamic ? 1 : 0, dynamic ? R : 0)
+                : null;
+            result = key != null ? cache.get(key, groupItems.getGroupIndex()) : null;
+            engine = "CACHE";
+            if (result == null) {
+                result = solveGroupUncached(groupItems);
+                engine = result.getPlan() != null ? result.getPlan().getStrategy().name() : "DYNAMIC";
+                if (key != null) cache.put(key, result);
             }
+            if (checkpoint != null) checkpoint.groupDone(result);
+        }
+
+        long bytes = startBytes < 0 ? -1 : allocatedBytes() - startBytes;
+        result.setMeasurements(engine, System.nanoTime() - startTime, bytes);
+        event.end();
+        if (event.shouldCommit()) {
+            event.groupIndex = groupItems.getGroupIndex();
+            event.items = groupItems.size();
+            event.engine = engine;
+            event.cellsVisited = result.getCellsVisited();
+            event.improvements = result.getImprovements();
+            event.bytesAllocated = bytes;
+            event.peakTableBytes = result.getPeakTableBytes();
+            event.maxValue = result.getMaxValue();
+            event.exact = result.isExact();
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Bytes allocated by the current thread so far, or -1 if the JVM cannot tell.
+     */
+    private static long allocatedBytes() {
+        return ALLOCATION_COUNTER != null ? ALLOCATION_COUNTER.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads;
         }
+        return null;
+    }
+
+    /**
+     * Solves a single group with the engine for the current mode.
+     * 
+     * @param groupItems Items in this group
+     * @return GroupResult containing the optimal solution for this group
+     */
+    private GroupResult solveGroupUncached(GroupItems groupItems) {
+        if (mode == SolverMode.DYNAMIC && R != 0) {
+            return solveDynamicGroup(groupItems);
+        }
+        // With R = 0 every dynamic weight equals the base weight.
+        ReducedGroup reduced = reduction
+            ? new GroupReducer(T).reduce(groupItems)
+            : new ReducedGroup(groupItems, T);
+        StrategyPlan plan = new StrategyPlanner(reduced.getCapacity(), branchAndBoundNodeLimit,
+            approximationEpsilon, offHeapBudget()).plan(reduced.getItems(), strategy);
+        GroupResult result = reduced.expand(runPlan(reduced.getItems(), reduced.getCapacity(), plan));
+        result.setReduction(reduced);
+        return result;
+    }
+
+    /**
+     * Bytes of mapped tables the planner may use: half the free space of the
+     * off-heap directory, or 0 when none is set.
+     */
+    private long offHeapBudget() {
+        return offHeapDirectory != null ? offHeapDirectory.toFile().getUsableSpace() / 2 : 0;
+    }
+
+    /**
+     * Runs the planned engine on a classic group, moving on to the plan's fallback
+     * if the engine gives up, and records the plan that ran in the result.
+     * 
+     * @param groupItems Items in this group
+     * @param capacity Time limit of the group, T unless the reducer scaled it
+     * @param plan The plan from StrategyPlanner
+     * @return GroupResult from the engine that completed
+     */
+    private GroupResult runPlan(GroupItems groupItems, int capacity, StrategyPlan plan) {
+        GroupResult result;
+        switch (plan.getStrategy()) {
+            case DENSE_DP_MAPPED:
+                if (offHeapDirectory == null) {
+                    throw new IllegalStateException("DENSE_DP_MAPPED needs an off-heap directory");
+                }
+                result = new MappedDenseDpSolver(capacity, offHeapDirectory).solve(groupItems);
+                break;
+            case DENSE_DP_LINEAR:
+                result = new LinearMemoryDpSolver(capacity).solve(groupItems);
+                break;
+            case VALUE_DP:
+                result = solveValueIndexedGroup(groupItems, capacity,
+                    Math.toIntExact(reachableValueSum(groupItems, capacity)));
+                break;
+            case BRANCH_AND_BOUND:
+                result = new BranchAndBoundSolver(capacity, branchAndBoundNodeLimit, branchAndBoundTimeLimitMillis)
+                    .solve(groupItems);
+                break;
+            case PARETO_FRONTIER:
+                result = new ParetoFrontierSolver(capacity, plan.getPointLimit(), StrategyPlanner.TABLE_BUDGET)
+                    .solve(groupItems);
+                if (result == null) {
+                    return runPlan(groupItems, capacity, plan.fallBack());
+                }
+                break;
+            case FPTAS:
+                double epsilon = approximationEpsilon > 0 ? approximationEpsilon : DEFAULT_APPROXIMATION_EPSILON;
+                result = new ApproximationSolver(capacity, epsilon, approximationBudgetMillis).solve(groupItems);
+                break;
+            default:
+                result = solveClassicGroup(groupItems, capacity);
+                break;
+        }
+        result.setPlan(plan);
+        return result;
+    }
+
+    /**
+     * Solves the knapsack problem for a single group using dynamic programming.
+     * Instead of copying a selection list whenever dp[t] improves, one choice bit
+     * is recorded per (item, capacity) and the selection is rebuilt by walking
+     * back from the best capacity once the table is complete.
+     * Time Complexity: O(m * T) where m is items and T is the time limit
+     * Space Complexity: O(T + m * T / 64) for the DP row and the packed choice bits
+     * 
+     * @param groupItems Items in this group
+     * @param capacity Time limit of the group
+     * @return GroupResult containing the optimal solution for this group
+     */
+    private GroupResult solveClassicGroup(GroupItems groupItems, int capacity) {
+        // 1D 0/1 knapsack by base weights only
+        int[] dp = new int[capacity + 1];
+        int words = (capacity >>> 6) + 1;
+        long[] choice = new long[Math.multiplyExact(groupItems.size(), words)];
+        // Only one group's progress fits in the checkpoint, so concurrent groups save none
+        fillClassicTable(groupItems, capacity, dp, choice, words, checkpoint != null && !parallel);
+        long rowBytes = 4L * (capacity + 1) * (classicThreads(words) > 1 ? 2 : 1);
 
         int bestVal = 0;
         int bestT = 0;
-        for (int t = 0; t <= T; t++) {
+        for (int t = 0; t <= capacity; t++) {
             if (dp[t] > bestVal) {
                 bestVal = dp[t];
                 bestT = t;
             }
         }
 
-        ArrayList<Item> bestSel = sel[bestT];
-        return new GroupResult(
-            groupIndex,
+        ArrayList<Item> bestSel = reconstructSelection(groupItems, choice, words, bestT);
+        GroupResult result = new GroupResult(
+            groupItems.getGroupIndex(),
             bestSel.size(),
             bestT,
             bestVal,
-            new ArrayList<>(bestSel)
+            bestSel
+        );
+        result.setWork(denseCells(groupItems, capacity), countChoiceBits(choice), rowBytes + 8L * choice.length);
+        return result;
+    }
+
+    /**
+     * Runs the classic DP passes of every item in the group. Afterwards dp[t] is the
+     * best value with base weight at most t, for every t up to the capacity.
+     * Large capacity ranges are split over the group threads when more than one is set.
+     * Time Complexity: O(m * T)
+     * Space Complexity: O(1) beyond the given arrays
+     * 
+     * @param groupItems Items in this group
+     * @param capacity Time limit of the group
+     * @param dp The DP row of length capacity + 1, initially zero
+     * @param choice Packed choice bits, one row of words per item, initially zero
+     * @param words Number of longs per row
+     * @param resumable true to resume from and save progress to the checkpoint
+     */
+    private void fillClassicTable(GroupItems groupItems, int capacity, int[] dp, long[] choice, int words,
+                                  boolean resumable) {
+        int threads = classicThreads(words);
+        if (threads > 1) {
+            SplitCapacityKernel.fill(groupItems, capacity, dp, choice, words, threads);
+            return;
+        }
+
+        int m = groupItems.size();
+        int groupIndex = groupItems.getGroupIndex();
+        boolean useVector = vectorized && VECTOR_API_AVAILABLE;
+        int first = resumable ? checkpoint.resumeGroup(groupIndex, capacity, m, dp, choice, words) : 0;
+
+        for (int i = first; i < m; i++) {
+            int w = groupItems.getWeight(i);
+            int v = groupItems.getValue(i);
+            int row = i * words; // Below choice.length, which multiplyExact kept in int range
+            if (useVector) {
+                VectorKernel.relax(dp, choice, row, capacity, w, v);
+            } else {
+                for (int t = capacity; t >= w; t--) {
+                    int nv = dp[t - w] + v;
+                    if (nv > dp[t]) {
+                        dp[t] = nv;
+                        choice[row + (t >>> 6)] |= 1L << t;
+                    }
+                }
+            }
+            if (resumable) {
+                checkpoint.itemDone(groupIndex, capacity, m, i + 1, dp, choice, words);
+            }
+        }
+    }
+
+    /**
+     * Threads the classic passes of a table with the given row width run on.
+     */
+    private int classicThreads(int words) {
+        return Math.min(groupThreads, words / SplitCapacityKernel.MIN_WORDS_PER_THREAD);
+    }
+
+    /**
+     * Sums the positive values of the items that fit under the capacity on their
+     * own; no optimal selection takes an item worth nothing or less.
+     * Time Complexity: O(m) where m is items in the group
+     * Space Complexity: O(1)
+     * 
+     * @param groupItems Items in this group
+     * @param capacity Time limit of the group
+     * @return Upper bound on the value any selection can reach
+     */
+    private long reachableValueSum(GroupItems groupItems, int capacity) {
+        long sum = 0;
+        for (int i = 0; i < groupItems.size(); i++) {
+            int v = groupItems.getValue(i);
+            if (groupItems.getWeight(i) <= capacity && v > 0) sum += v;
+        }
+        return sum;
+    }
+
+    /**
+     * Solves a classic group by indexing the DP by value instead of capacity:
+     * minWeight[val] is the lightest selection worth exactly val. The answer is the
+     * largest val whose minimum weight fits under T, and that weight is the same
+     * dynamicTimeUsed the capacity-indexed DP reports (its smallest t reaching the
+     * optimum). Used when the group's value sum is smaller than T, e.g. capacities
+     * in the billions with modest values.
+     * Time Complexity: O(m * V) where V is the reachable value sum
+     * Space Complexity: O(V + m * V / 64) for the DP row and the packed choice bits
+     * 
+     * @param groupItems Items in this group
+     * @param capacity Time limit of the group
+     * @param valueSum Sum of the positive values of items that fit under the capacity
+     * @return GroupResult containing the optimal solution for this group
+     */
+    private GroupResult solveValueIndexedGroup(GroupItems groupItems, int capacity, int valueSum) {
+        int m = groupItems.size();
+        int[] minWeight = new int[valueSum + 1];
+        Arrays.fill(minWeight, 1, valueSum + 1, UNREACHABLE_WEIGHT);
+        int words = (valueSum >>> 6) + 1;
+        long[] choice = new long[Math.multiplyExact(m, words)];
+
+        int reached = 0; // Highest value sum any prefix of items can reach so far
+        long cells = 0;
+        for (int i = 0; i < m; i++) {
+            int w = groupItems.getWeight(i);
+            int v = groupItems.getValue(i);
+            if (w > capacity || v <= 0) continue; // Left out of valueSum
+            int row = i * words;
+            reached += v;
+            cells += reached - v + 1;
+            for (int val = reached; val >= v; val--) {
+                int prev = minWeight[val - v];
+                if (prev == UNREACHABLE_WEIGHT) continue;
+                long nw = (long) prev + w;
+                if (nw <= capacity && nw < minWeight[val]) {
+                    minWeight[val] = (int) nw;
+                    choice[row + (val >>> 6)] |= 1L << val;
+                }
+            }
+        }
+
+        int bestVal = valueSum;
+        while (minWeight[bestVal] == UNREACHABLE_WEIGHT) {
+            bestVal--;
+        }
+
+        ArrayList<Item> picked = new ArrayList<>();
+        for (int i = m - 1, val = bestVal; i >= 0 && val > 0; i--) {
+            if ((choice[i * words + (val >>> 6)] & (1L << val)) != 0) {
+                picked.add(groupItems.toItem(i));
+                val -= groupItems.getValue(i);
+            }
+        }
+        Collections.reverse(picked);
+        GroupResult result = new GroupResult(
+            groupItems.getGroupIndex(),
+            picked.size(),
+            minWeight[bestVal],
+            bestVal,
+            picked
         );
+        result.setWork(cells, countChoiceBits(choice), 4L * (valueSum + 1) + 8L * choice.length);
+        return result;
+    }
+
+    /**
+     * Counts the choice bits set. Each marks one cell a DP pass improved, so this is
+     * the DP's improvement count without counting in its inner loop.
+     * Time Complexity: O(L) for L words
+     * Space Complexity: O(1)
+     * 
+     * @param choice Packed choice bits
+     * @return Number of bits set
+     */
+    static long countChoiceBits(long[] choice) {
+        long count = 0;
+        for (long word : choice) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Counts the cells the capacity-indexed item passes visit: capacities w..capacity
+     * for every item of weight w.
+     * Time Complexity: O(m)
+     * Space Complexity: O(1)
+     * 
+     * @param groupItems Items in this group
+     * @param capacity Time limit of the group
+     * @return Cells visited by one pass per item
+     */
+    static long denseCells(GroupItems groupItems, int capacity) {
+        long cells = 0;
+        for (int i = 0; i < groupItems.size(); i++) {
+            cells += Math.max(0, capacity - groupItems.getWeight(i) + 1);
+        }
+        return cells;
+    }
+
+    /**
+     * Rebuilds the selected items by walking the choice bits from the last item
+     * back to the first, starting at capacity t.
+     * Time Complexity: O(m) where m is items in the group
+     * Space Complexity: O(k) where k is the selection size
+     * 
+     * @param groupItems Items in this group
+     * @param choice Packed choice bits, one row of words per item
+     * @param words Number of longs per row
+     * @param t Capacity to reconstruct from
+     * @return Selected items in their original order
+     */
+    static ArrayList<Item> reconstructSelection(GroupItems groupItems, long[] choice,
+                                                int words, int t) {
+        ArrayList<Item> picked = new ArrayList<>();
+        for (int i = groupItems.size() - 1; i >= 0; i--) {
+            if ((choice[i * words + (t >>> 6)] & (1L << t)) != 0) {
+                picked.add(groupItems.toItem(i));
+                t -= groupItems.getWeight(i);
+            }
+        }
+        Collections.reverse(picked);
+        return picked;
     }
 
-    // Dynamic time for a selection of k items is captured directly by t in DP state.
+    /**
+     * Solves a single group where the k-th selected item costs baseWeight + R * k,
+     * with the (count, base weight) DP of DynamicGroupSolver.
+     * Time Complexity: O(m * C * T) where C is the largest count that can fit
+     * Space Complexity: O(C * T + m)
+     * 
+     * @param groupItems Items in this group
+     * @return GroupResult containing the optimal solution for this group
+     */
+    private GroupResult solveDynamicGroup(GroupItems groupItems) {
+        return new DynamicGroupSolver(T, R).solve(groupItems);
+    }
 }
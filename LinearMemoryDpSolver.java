@@ -0,0 +1,169 @@
+import java.util.ArrayList;
+
+/**
+ * Solves a single classic group with the capacity-indexed DP in O(T) memory, for
+ * groups whose m * T choice bits would not fit in the heap.
+ * One pass finds the optimum and the smallest capacity reaching it, keeping only
+ * the DP row. The selection is then rebuilt by divide and conquer (as Hirschberg
+ * does for alignments): the items are cut in half, each half's best value at
+ * every capacity is computed, and the capacity is split where the two halves
+ * together reach the optimum. Each half is then solved the same way within its
+ * share. Once a part's choice bits take no more memory than one DP row, it is
+ * solved directly with choice bits instead.
+ * Each level of the recursion does at most m * T work in total and the levels
+ * shrink by half, so reconstruction costs about twice the first pass.
+ */
+public class LinearMemoryDpSolver {
+    private final int T;
+    private final long leafWords; // Choice-bit words a part may use to be solved directly
+    // Work of the solve in progress, first pass and rebuild together. Improvements
+    // are those of the parts solved with choice bits, counted from the bits: a
+    // counter in the profile passes costs about a tenth of their speed
+    private long cells;
+    private long improvements;
+    private long peakTableBytes;
+
+    /**
+     * Constructs a LinearMemoryDpSolver.
+     *
+     * @param T Time limit (capacity)
+     */
+    public LinearMemoryDpSolver(int T) {
+        this.T = T;
+        this.leafWords = T + 1L;
+    }
+
+    /**
+     * Finds the optimum, reached at the smallest capacity like the dense DP, and
+     * rebuilds a selection reaching it.
+     * Time Complexity: O(m * T) for the first pass plus O(m * T) for the rebuild
+     * Space Complexity: O(T + m)
+     *
+     * @param groupItems Items in this group
+     * @return GroupResult containing the optimal solution for this group
+     */
+    public GroupResult solve(GroupItems groupItems) {
+        cells = 0;
+        improvements = 0;
+        peakTableBytes = 0;
+        // Items that cannot fit or add no value are never taken by the dense DP
+        int m = groupItems.size();
+        int[] usable = new int[m];
+        int n = 0;
+        for (int i = 0; i < m; i++) {
+            if (groupItems.getWeight(i) <= T && groupItems.getValue(i) > 0) usable[n++] = i;
+        }
+
+        int[] dp = profile(groupItems, usable, 0, n, T);
+        int bestVal = dp[T];
+        int bestT = 0;
+        while (dp[bestT] < bestVal) bestT++; // dp is non-decreasing in t
+        dp = null; // Not needed during the rebuild
+
+        boolean[] take = new boolean[n];
+        rebuild(groupItems, usable, 0, n, bestT, take);
+
+        ArrayList<Item> selected = new ArrayList<>();
+        int weight = 0;
+        int value = 0;
+        for (int k = 0; k < n; k++) {
+            if (!take[k]) continue;
+            selected.add(groupItems.toItem(usable[k]));
+            weight += groupItems.getWeight(usable[k]);
+            value += groupItems.getValue(usable[k]);
+        }
+        GroupResult result = new GroupResult(groupItems.getGroupIndex(), selected.size(), weight, value, selected);
+        result.setWork(cells, improvements, peakTableBytes);
+        return result;
+    }
+
+    /**
+     * Marks the items of usable[lo..hi) taken by a selection with the best value
+     * within capacity c.
+     */
+    private void rebuild(GroupItems groupItems, int[] usable, int lo, int hi, int c, boolean[] take) {
+        if (lo == hi) return;
+        int words = (c >>> 6) + 1;
+        if (hi - lo == 1 || (long) (hi - lo) * words <= leafWords) {
+            rebuildWithChoiceBits(groupItems, usable, lo, hi, c, take);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        int left = split(groupItems, usable, lo, mid, hi, c);
+        rebuild(groupItems, usable, lo, mid, left, take);
+        rebuild(groupItems, usable, mid, hi, c - left, take);
+    }
+
+    /**
+     * Capacity to give usable[lo..mid) so that both halves together reach the best
+     * value within c. Kept apart from rebuild so the two profiles can be collected
+     * before it recurses.
+     */
+    private int split(GroupItems groupItems, int[] usable, int lo, int mid, int hi, int c) {
+        int[] left = profile(groupItems, usable, lo, mid, c);
+        int[] right = profile(groupItems, usable, mid, hi, c);
+        peakTableBytes = Math.max(peakTableBytes, 8L * (c + 1));
+        int best = -1;
+        int bestLeft = 0;
+        for (int a = 0; a <= c; a++) {
+            int v = left[a] + right[c - a];
+            if (v > best) {
+                best = v;
+                bestLeft = a;
+            }
+        }
+        return bestLeft;
+    }
+
+    /**
+     * Best value of usable[lo..hi) at every capacity 0..c.
+     * Time Complexity: O((hi - lo) * c)
+     * Space Complexity: O(c)
+     */
+    private int[] profile(GroupItems groupItems, int[] usable, int lo, int hi, int c) {
+        int[] dp = new int[c + 1];
+        peakTableBytes = Math.max(peakTableBytes, 4L * (c + 1));
+        for (int k = lo; k < hi; k++) {
+            int w = groupItems.getWeight(usable[k]);
+            int v = groupItems.getValue(usable[k]);
+            cells += Math.max(0, c - w + 1);
+            for (int t = c; t >= w; t--) {
+                int nv = dp[t - w] + v;
+                if (nv > dp[t]) dp[t] = nv;
+            }
+        }
+        return dp;
+    }
+
+    /**
+     * Solves usable[lo..hi) within capacity c with one choice bit per (item,
+     * capacity) and walks them back from c.
+     */
+    private void rebuildWithChoiceBits(GroupItems groupItems, int[] usable, int lo, int hi,
+                                       int c, boolean[] take) {
+        int words = (c >>> 6) + 1;
+        int[] dp = new int[c + 1];
+        long[] choice = new long[Math.multiplyExact(hi - lo, words)];
+        peakTableBytes = Math.max(peakTableBytes, 4L * (c + 1) + 8L * choice.length);
+        for (int k = lo; k < hi; k++) {
+            int w = groupItems.getWeight(usable[k]);
+            int v = groupItems.getValue(usable[k]);
+            cells += Math.max(0, c - w + 1);
+            int row = (k - lo) * words;
+            for (int t = c; t >= w; t--) {
+                int nv = dp[t - w] + v;
+                if (nv > dp[t]) {
+                    dp[t] = nv;
+                    choice[row + (t >>> 6)] |= 1L << t;
+                }
+            }
+        }
+        improvements += KnapsackSolver.countChoiceBits(choice);
+        for (int k = hi - 1, t = c; k >= lo; k--) {
+            if ((choice[(k - lo) * words + (t >>> 6)] & (1L << t)) != 0) {
+                take[k] = true;
+                t -= groupItems.getWeight(usable[k]);
+            }
+        }
+    }
+}
@@ -1,24 +1,222 @@
-import java.util.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class Main {
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
-        int N = scanner.nextInt();
-        int G = scanner.nextInt();
-        int T = scanner.nextInt();
-        int R = scanner.nextInt();
-
-        ArrayList<Item> items = new ArrayList<>();
-        for (int i = 0; i < N; i++) {
-            int v = scanner.nextInt();
-            int w = scanner.nextInt();
-            int g = scanner.nextInt();
-            items.add(new Item(v, w, g));
-        }
-        scanner.close();
-
-        KnapsackSolver solver = new KnapsackSolver(G, T, R, items);
-        SolverResult result = solver.solve();
-        System.out.println(result.getMaxValue());
+    private static final int CACHE_ENTRIES = 100_000;
+    private static final long DEFAULT_CHECKPOINT_SECONDS = 60;
+    private static final int MAX_PREALLOCATED_ITEMS = 1 << 20; // 12 MB of item table
+
+    public static void main(String[] args) throws IOException {
+        String inputPath = null;
+        boolean parallel = false;
+        boolean vectorized = false;
+        SolverMode mode = SolverMode.CLASSIC;
+        GroupStrategy strategy = GroupStrategy.AUTO;
+        Path cachePath = null;
+        boolean batch = false;
+        boolean tagged = false;
+        int workers = Runtime.getRuntime().availableProcessors();
+        double epsilon = 0;
+        long budgetMillis = 0;
+        boolean reduce = true;
+        boolean report = false;
+        boolean metrics = false;
+        int groupThreads = 1;
+        Path offHeapDirectory = null;
+        Path checkpointPath = null;
+        long checkpointSeconds = DEFAULT_CHECKPOINT_SECONDS;
+        for (String arg : args) {
+            if (arg.equals("--parallel")) {
+                parallel = true;
+            } else if (arg.equals("--vector")) {
+                vectorized = true;
+            } else if (arg.equals("--dynamic")) {
+                mode = SolverMode.DYNAMIC;
+            } else if (arg.equals("--shared")) {
+                mode = SolverMode.SHARED;
+            } else if (arg.startsWith("--cache=")) {
+                cachePath = Path.of(arg.substring("--cache=".length()));
+            } else if (arg.equals("--batch")) {
+                batch = true;
+            } else if (arg.equals("--tagged")) {
+                tagged = true;
+            } else if (arg.startsWith("--workers=")) {
+                workers = Integer.parseInt(arg.substring("--workers=".length()));
+            } else if (arg.startsWith("--strategy=")) {
+                strategy = GroupStrategy.valueOf(arg.substring("--strategy=".length()));
+            } else if (arg.startsWith("--epsilon=")) {
+                epsilon = Double.parseDouble(arg.substring("--epsilon=".length()));
+            } else if (arg.startsWith("--budget=")) {
+                budgetMillis = Long.parseLong(arg.substring("--budget=".length()));
+            } else if (arg.startsWith("--group-threads=")) {
+                groupThreads = Integer.parseInt(arg.substring("--group-threads=".length()));
+            } else if (arg.startsWith("--off-heap=")) {
+                offHeapDirectory = Path.of(arg.substring("--off-heap=".length()));
+            } else if (arg.startsWith("--checkpoint=")) {
+                checkpointPath = Path.of(arg.substring("--checkpoint=".length()));
+            } else if (arg.startsWith("--checkpoint-interval=")) {
+                checkpointSeconds = Long.parseLong(arg.substring("--checkpoint-interval=".length()));
+            } else if (arg.equals("--no-reduce")) {
+                reduce = false;
+            } else if (arg.equals("--report")) {
+                report = true;
+            } else if (arg.equals("--metrics")) {
+                metrics = true;
+            } else {
+                inputPath = arg;
+            }
+        }
+
+        GroupResultCache cache = null;
+        if (cachePath != null) {
+            cache = new GroupResultCache(CACHE_ENTRIES);
+            if (Files.exists(cachePath)) cache.load(cachePath);
+        }
+
+        boolean solveGroupsInParallel = parallel;
+        SolverMode solverMode = mode;
+        GroupStrategy groupStrategy = strategy;
+        boolean useVector = vectorized;
+        GroupResultCache groupCache = cache;
+        double approximationEpsilon = epsilon;
+        long approximationBudget = budgetMillis;
+        boolean reduceGroups = reduce;
+        int threadsPerGroup = groupThreads;
+        Path mappedTableDirectory = offHeapDirectory;
+        Consumer<KnapsackSolver> configure = solver -> {
+            solver.setParallel(solveGroupsInParallel);
+            solver.setVectorized(useVector);
+            solver.setMode(solverMode);
+            solver.setStrategy(groupStrategy);
+            solver.setCache(groupCache);
+            solver.setApproximation(approximationEpsilon, approximationBudget);
+            solver.setReduction(reduceGroups);
+            solver.setGroupThreads(threadsPerGroup);
+            solver.setOffHeapDirectory(mappedTableDirectory);
+        };
+
+        int failures = 0;
+        if (batch) {
+            BatchRunner runner = new BatchRunner(workers, 2 * workers, !tagged, configure);
+            Path input = inputPath != null ? Path.of(inputPath) : null;
+            if (input != null && Files.isDirectory(input)) {
+                List<Path> files;
+                try (Stream<Path> listing = Files.list(input)) {
+                    files = listing.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+                }
+                failures = runner.runFiles(files, System.out);
+            } else {
+                try (FastReader reader = input != null ? new FastReader(input) : new FastReader(System.in)) {
+                    failures = runner.runStream(reader, System.out);
+                }
+            }
+        } else {
+            KnapsackSolver solver;
+            try (FastReader reader = inputPath != null
+                    ? new FastReader(Path.of(inputPath))
+                    : new FastReader(System.in)) {
+                solver = readSolver(reader);
+            }
+            configure.accept(solver);
+            solver.setCheckpoint(checkpointPath, checkpointSeconds * 1000);
+            SolverResult result = solver.solve();
+            System.out.println(result.getMaxValue());
+            if (report) {
+                printReport(result);
+            }
+            if (metrics) {
+                System.out.print(ResultFormatter.formatMetrics(result));
+            }
+        }
+
+        if (cache != null) {
+            // On stderr so stdout keeps one result line per instance
+            System.err.printf("Cache: %d hits, %d misses%n", cache.getHits(), cache.getMisses());
+            cache.save(cachePath);
+        }
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Prints how each classic group was reduced and which engine solved it.
+     * 
+     * @param result The solved instance
+     */
+    private static void printReport(SolverResult result) {
+        for (GroupResult groupResult : result.getGroupResults()) {
+            if (groupResult.getReduction() == null && groupResult.getPlan() == null) continue;
+            System.out.printf("Group %d: %s; %s%n", groupResult.getGroupIndex(),
+                groupResult.getReduction(), groupResult.getPlan());
+        }
+    }
+
+    /**
+     * Reads one "N G T R" instance followed by N "v w g" lines.
+     * Time Complexity: O(N) where N is the number of items
+     * Space Complexity: O(N) for the item table
+     * 
+     * @param reader The reader positioned at the start of an instance
+     * @return A solver for the instance
+     */
+    public static KnapsackSolver readSolver(FastReader reader) {
+        return readSolver(reader, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads one instance like readSolver(reader), refusing a header that claims
+     * more items than the input can hold before the item table is allocated.
+     * A malformed item token is reported only after the rest of the instance has
+     * been skipped, so the reader is left at the next instance of a stream.
+     * 
+     * @param reader The reader positioned at the start of an instance
+     * @param maxItems Most items the remaining input can contain
+     * @return A solver for the instance
+     * @throws IllegalArgumentException If N is negative or above maxItems
+     * @throws IllegalStateException If the header is malformed; the end of the
+     *                               instance is then unknown
+     * @throws InputMismatchException If an item token is not an integer
+     */
+    public static KnapsackSolver readSolver(FastReader reader, long maxItems) {
+        int N, G, T, R;
+        try {
+            N = reader.nextInt();
+            G = reader.nextInt();
+            T = reader.nextInt();
+            R = reader.nextInt();
+        } catch (InputMismatchException e) {
+            throw new IllegalStateException("Malformed header: " + e.getMessage(), e);
+        }
+        if (N < 0 || N > maxItems) {
+            throw new IllegalArgumentException("Item count " + N + " out of range (at most " + maxItems + ")");
+        }
+
+        // N is only a claim until the items are read: a stream cannot bound it,
+        // so the table grows past the first MAX_PREALLOCATED_ITEMS instead
+        ItemTable items = new ItemTable(Math.min(N, MAX_PREALLOCATED_ITEMS));
+        int i = 0;
+        int field = 0; // Tokens of item i already read
+        try {
+            for (; i < N; i++) {
+                field = 0;
+                int v = reader.nextInt();
+                field = 1;
+                int w = reader.nextInt();
+                field = 2;
+                int g = reader.nextInt();
+                items.add(v, w, g);
+            }
+        } catch (InputMismatchException e) {
+            reader.skipTokens(3L * (N - i) - field - 1);
+            throw new InputMismatchException("Item " + (i + 1) + " of " + N + ": " + e.getMessage());
+        }
+        return new KnapsackSolver(G, T, R, items);
     }
 }
@@ -0,0 +1,115 @@
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Solves a single classic group with the capacity-indexed DP while keeping the DP
+ * row and the choice bits in memory-mapped files (see MappedTable) instead of on
+ * the heap, so T is limited by disk space rather than by -Xmx. A group with T near
+ * 2 * 10^9 needs an 8 GB row, which no int[] can even hold.
+ * Each item pass walks the row from T down in blocks: a block and the block w below
+ * it are copied to heap scratch arrays, updated there and written back. Both reads
+ * happen before the block is written, and lower blocks are still untouched, so
+ * every cell sees its pre-item value exactly as in the in-place descending loop,
+ * and the values and choice bits are the dense DP's.
+ */
+public class MappedDenseDpSolver {
+    // Capacities per block, a multiple of 64 so each block owns whole words of choice bits
+    private static final int BLOCK = 1 << 16;
+
+    private final int T;
+    private final Path directory;
+
+    /**
+     * Constructs a MappedDenseDpSolver.
+     *
+     * @param T Time limit (capacity)
+     * @param directory Directory for the temporary table files
+     */
+    public MappedDenseDpSolver(int T, Path directory) {
+        this.T = T;
+        this.directory = directory;
+    }
+
+    /**
+     * Solves the group; same result as the heap dense DP.
+     * Time Complexity: O(m * T), in sequential passes over the mapped row
+     * Space Complexity: O(BLOCK) heap; O(T + m * T / 64) mapped
+     *
+     * @param groupItems Items in this group
+     * @return GroupResult containing the optimal solution for this group
+     * @throws IllegalStateException If the tables cannot be mapped
+     */
+    public GroupResult solve(GroupItems groupItems) {
+        int m = groupItems.size();
+        long cells = T + 1L;
+        long words = (T >>> 6) + 1L;
+        MappedTable dp = new MappedTable(directory, cells * Integer.BYTES);
+        MappedTable choice = new MappedTable(directory, m * words * Long.BYTES);
+
+        int[] block = new int[BLOCK];
+        int[] below = new int[BLOCK];
+        long[] bits = new long[BLOCK / 64];
+        long improvements = 0;
+        for (int i = 0; i < m; i++) {
+            int w = groupItems.getWeight(i);
+            int v = groupItems.getValue(i);
+            if (w > T) continue;
+            long row = i * words;
+            for (long start = (long) T / BLOCK * BLOCK; start + BLOCK > w; start -= BLOCK) {
+                int lo = (int) Math.max(start, w);
+                int hi = (int) Math.min(start + BLOCK - 1, T);
+                int length = hi - lo + 1;
+                int offset = (int) (lo - start);
+                dp.getInts(lo, block, offset, length);
+                dp.getInts(lo - w, below, offset, length);
+
+                boolean improved = false;
+                for (int k = offset + length - 1; k >= offset; k--) {
+                    int nv = below[k] + v;
+                    if (nv > block[k]) {
+                        block[k] = nv;
+                        bits[k >>> 6] |= 1L << k;
+                        improved = true;
+                    }
+                }
+                if (improved) {
+                    dp.putInts(lo, block, offset, length);
+                    int firstWord = offset >>> 6;
+                    int wordCount = ((offset + length - 1) >>> 6) - firstWord + 1;
+                    choice.putLongs(row + (start >>> 6) + firstWord, bits, firstWord, wordCount);
+                    for (int k = firstWord; k < firstWord + wordCount; k++) {
+                        improvements += Long.bitCount(bits[k]);
+                    }
+                    Arrays.fill(bits, firstWord, firstWord + wordCount, 0L);
+                }
+            }
+        }
+
+        // dp is non-decreasing in t, so the smallest capacity reaching the optimum
+        // is found by binary search
+        int bestVal = dp.getInt(T);
+        int lo = 0;
+        int hi = T;
+        while (lo < hi) {
+            int mid = (int) (((long) lo + hi) >>> 1);
+            if (dp.getInt(mid) >= bestVal) hi = mid; else lo = mid + 1;
+        }
+        int bestT = lo;
+
+        ArrayList<Item> selected = new ArrayList<>();
+        for (int i = m - 1, t = bestT; i >= 0; i--) {
+            if ((choice.getLong(i * words + (t >>> 6)) & (1L << t)) != 0) {
+                selected.add(groupItems.toItem(i));
+                t -= groupItems.getWeight(i);
+            }
+        }
+        Collections.reverse(selected);
+        GroupResult result = new GroupResult(groupItems.getGroupIndex(), selected.size(), bestT, bestVal, selected);
+        // The tables are mapped rather than on the heap, but their size is what limits T
+        result.setWork(KnapsackSolver.denseCells(groupItems, T), improvements,
+            cells * Integer.BYTES + m * words * Long.BYTES);
+        return result;
+    }
+}
@@ -0,0 +1,110 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A zero-filled table of ints or longs backed by a memory-mapped temporary file,
+ * for DP tables larger than the Java heap (or than an int-indexed array). The
+ * operating system pages it in and out, so the garbage collector never sees it.
+ * The file is mapped in chunks of 1 GiB, since one mapping is limited to 2 GiB,
+ * and is deleted as soon as it is mapped; the pages are freed once the table is
+ * unreachable and its mappings are collected. Access is by bulk copies to and
+ * from small heap arrays, so passes over the table stay sequential.
+ */
+final class MappedTable {
+    private static final int CHUNK_BYTES = 1 << 30; // A multiple of 8: no value straddles two chunks
+    private static final int CHUNK_INTS = CHUNK_BYTES / Integer.BYTES;
+    private static final int CHUNK_LONGS = CHUNK_BYTES / Long.BYTES;
+
+    private final IntBuffer[] ints;
+    private final LongBuffer[] longs;
+
+    /**
+     * Maps a new zero-filled table.
+     *
+     * @param directory Directory for the temporary file
+     * @param bytes Size of the table in bytes
+     * @throws IllegalStateException If the file cannot be created or mapped
+     */
+    MappedTable(Path directory, long bytes) {
+        int chunkCount = (int) Math.max(1, (bytes + CHUNK_BYTES - 1) / CHUNK_BYTES);
+        ints = new IntBuffer[chunkCount];
+        longs = new LongBuffer[chunkCount];
+        try {
+            Path file = Files.createTempFile(directory, "dp-table-", ".bin");
+            // Sparse, so the untouched parts of the table take no disk space
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.SPARSE, StandardOpenOption.DELETE_ON_CLOSE)) {
+                for (int c = 0; c < chunkCount; c++) {
+                    long offset = (long) c * CHUNK_BYTES;
+                    ByteBuffer chunk = channel.map(FileChannel.MapMode.READ_WRITE, offset,
+                        Math.max(8, Math.min(CHUNK_BYTES, bytes - offset)))
+                        .order(ByteOrder.nativeOrder());
+                    ints[c] = chunk.asIntBuffer();
+                    longs[c] = chunk.asLongBuffer();
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not map a DP table in " + directory + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Copies ints [index, index + length) of the table into dst[offset..].
+     */
+    void getInts(long index, int[] dst, int offset, int length) {
+        while (length > 0) {
+            int chunk = (int) (index / CHUNK_INTS);
+            int position = (int) (index % CHUNK_INTS);
+            int n = Math.min(length, CHUNK_INTS - position);
+            ints[chunk].get(position, dst, offset, n);
+            index += n;
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * Copies src[offset..offset + length) into ints [index, index + length) of the table.
+     */
+    void putInts(long index, int[] src, int offset, int length) {
+        while (length > 0) {
+            int chunk = (int) (index / CHUNK_INTS);
+            int position = (int) (index % CHUNK_INTS);
+            int n = Math.min(length, CHUNK_INTS - position);
+            ints[chunk].put(position, src, offset, n);
+            index += n;
+            offset += n;
+            length -= n;
+        }
+    }
+
+    int getInt(long index) {
+        return ints[(int) (index / CHUNK_INTS)].get((int) (index % CHUNK_INTS));
+    }
+
+    long getLong(long index) {
+        return longs[(int) (index / CHUNK_LONGS)].get((int) (index % CHUNK_LONGS));
+    }
+
+    /**
+     * Copies src[offset..offset + length) into longs [index, index + length) of the table.
+     */
+    void putLongs(long index, long[] src, int offset, int length) {
+        while (length > 0) {
+            int chunk = (int) (index / CHUNK_LONGS);
+            int position = (int) (index % CHUNK_LONGS);
+            int n = Math.min(length, CHUNK_LONGS - position);
+            longs[chunk].put(position, src, offset, n);
+            index += n;
+            offset += n;
+            length -= n;
+        }
+    }
+}
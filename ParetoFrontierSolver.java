@@ -0,0 +1,174 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Solves a single classic group by keeping only its Pareto frontier
+ * (Nemhauser-Ullmann): the (weight, value) pairs of selections that no lighter or
+ * equally heavy selection beats. Adding an item merges the frontier with a copy of
+ * itself shifted by the item and drops every dominated pair, so the work per item
+ * is proportional to the frontier size rather than to T. With large, scattered
+ * weights most capacities never improve and the frontier stays far smaller than
+ * the dense DP row.
+ * Every frontier pair remembers the item it added and the pair it came from, which
+ * is enough to rebuild the selection. That history outlives the frontier and can
+ * grow by a frontier's worth per item, so it is counted with the frontier against
+ * a byte limit. If the frontier grows past its point limit or the memory past the
+ * byte limit, the solver gives up so the caller can fall back to a table engine.
+ */
+public class ParetoFrontierSolver {
+    private static final int MAX_NODES = Integer.MAX_VALUE - 8; // Largest array the JVM allocates
+    private final int T;
+    private final int maxPoints;
+    private final long maxBytes;
+
+    /**
+     * Constructs a ParetoFrontierSolver.
+     *
+     * @param T Time limit (capacity)
+     * @param maxPoints Largest frontier to keep before giving up
+     * @param maxBytes Most memory the frontier and its history may take before giving up
+     */
+    public ParetoFrontierSolver(int T, int maxPoints, long maxBytes) {
+        this.T = T;
+        this.maxPoints = maxPoints;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Builds the group's frontier and returns its best point.
+     * The result matches the dense DP: the best value, reached at the smallest weight.
+     * Time Complexity: O(m * F) where F is the largest frontier size
+     * Space Complexity: O(F) for the frontier plus O(m * F) worst case for the
+     *   history of pairs used to rebuild the selection, at most maxBytes together
+     *
+     * @param groupItems Items in this group
+     * @return GroupResult with the optimum, or null if the frontier exceeded maxPoints
+     *         or its memory exceeded maxBytes
+     */
+    public GroupResult solve(GroupItems groupItems) {
+        int m = groupItems.size();
+
+        // The frontier, sorted by weight with strictly increasing values; node[k]
+        // identifies the selection behind pair k (-1 for the empty selection)
+        int[] weights = {0};
+        int[] values = {0};
+        int[] nodes = {-1};
+        int size = 1;
+        int[] nextWeights = new int[2];
+        int[] nextValues = new int[2];
+        int[] nextNodes = new int[2];
+
+        // Node n took item nodeItem[n] on top of node nodeParent[n]
+        int[] nodeItem = new int[16];
+        int[] nodeParent = new int[16];
+        int nodeCount = 0;
+        long pairs = 0; // Pairs merged over all items
+        long peakBytes = 0;
+
+        for (int i = 0; i < m; i++) {
+            int w = groupItems.getWeight(i);
+            int v = groupItems.getValue(i);
+            if (w > T || v <= 0) continue; // Can never improve a pair
+
+            if (nextWeights.length < 2 * size) {
+                if (bytes(2L * size, 2L * size, nodeItem.length) > maxBytes) return null;
+                nextWeights = new int[2 * size];
+                nextValues = new int[2 * size];
+                nextNodes = new int[2 * size];
+            }
+            // Merge the frontier (a) with its copy shifted by the item (b) in weight
+            // order, keeping a pair only if it is worth more than every lighter one
+            int a = 0;
+            int b = 0;
+            int n = 0;
+            int lastValue = -1;
+            while (a < size || b < size) {
+                long shiftedWeight = b < size ? (long) weights[b] + w : Long.MAX_VALUE;
+                if (shiftedWeight > T) {
+                    if (a == size) break;
+                    b = size; // The rest of the shifted copy is even heavier
+                }
+                boolean takeOld = b == size || a < size && weights[a] <= shiftedWeight;
+                int pw, pv, pn;
+                if (takeOld) {
+                    pw = weights[a];
+                    pv = values[a];
+                    pn = nodes[a];
+                    a++;
+                } else {
+                    pw = (int) shiftedWeight;
+                    pv = values[b] + v;
+                    if (pv <= lastValue) {
+                        b++;
+                        continue;
+                    }
+                    if (nodeCount == nodeItem.length) {
+                        long grown = Math.min(2L * nodeCount, MAX_NODES);
+                        if (grown == nodeCount
+                                || bytes(weights.length, nextWeights.length, grown) > maxBytes) {
+                            return null;
+                        }
+                        nodeItem = Arrays.copyOf(nodeItem, (int) grown);
+                        nodeParent = Arrays.copyOf(nodeParent, (int) grown);
+                    }
+                    nodeItem[nodeCount] = i;
+                    nodeParent[nodeCount] = nodes[b];
+                    pn = nodeCount++;
+                    b++;
+                }
+                if (pv <= lastValue) continue;
+                // An equally heavy pair worth more replaces the last kept pair
+                if (n > 0 && nextWeights[n - 1] == pw) n--;
+                nextWeights[n] = pw;
+                nextValues[n] = pv;
+                nextNodes[n] = pn;
+                n++;
+                lastValue = pv;
+            }
+            if (n > maxPoints) return null;
+            pairs += a + b;
+            peakBytes = Math.max(peakBytes, bytes(weights.length, nextWeights.length, nodeItem.length));
+
+            int[] swap = weights;
+            weights = nextWeights;
+            nextWeights = swap;
+            swap = values;
+            values = nextValues;
+            nextValues = swap;
+            swap = nodes;
+            nodes = nextNodes;
+            nextNodes = swap;
+            size = n;
+        }
+
+        // Values increase along the frontier, so the last pair is the best
+        int best = size - 1;
+        int[] picked = new int[m];
+        int count = 0;
+        for (int node = nodes[best]; node >= 0; node = nodeParent[node]) {
+            picked[count++] = nodeItem[node];
+        }
+        Arrays.sort(picked, 0, count);
+        ArrayList<Item> selected = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) {
+            selected.add(groupItems.toItem(picked[k]));
+        }
+        GroupResult result = new GroupResult(
+            groupItems.getGroupIndex(),
+            selected.size(),
+            weights[best],
+            values[best],
+            selected
+        );
+        // Each node is a shifted pair that made it onto a frontier
+        result.setWork(pairs, nodeCount, peakBytes);
+        return result;
+    }
+
+    /**
+     * Memory of two frontiers (weight, value and node per pair) and the node history.
+     */
+    private static long bytes(long frontier, long nextFrontier, long nodes) {
+        return 12L * (frontier + nextFrontier) + 8L * nodes;
+    }
+}
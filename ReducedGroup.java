@@ -0,0 +1,164 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * A group after GroupReducer: the items and capacity an engine should solve, and
+ * the mapping from each reduced item (a bundle of identical originals) back to the
+ * original items, used to expand the engine's result.
+ */
+public class ReducedGroup {
+    private final GroupItems original;
+    private final GroupItems items;
+    private final int capacity;
+    private final int reducedCapacity;
+    private final int weightGcd;
+    private final int[] originStart; // Bundle b stands for origin[originStart[b]..originStart[b + 1])
+    private final int[] origin;
+    private final int dropped; // Too heavy, worthless or dominated
+    private final int merged; // Copies folded into another item's bundle
+
+    /**
+     * Constructs a ReducedGroup that leaves the group unchanged.
+     *
+     * @param original Items in this group
+     * @param capacity Time limit (capacity)
+     */
+    public ReducedGroup(GroupItems original, int capacity) {
+        this(original, original, capacity, capacity, 1, null, null, 0, 0);
+    }
+
+    /**
+     * Constructs a ReducedGroup.
+     *
+     * @param original Items in this group
+     * @param items Reduced items, one per bundle, weights divided by weightGcd
+     * @param capacity Time limit (capacity) of the original group
+     * @param reducedCapacity capacity / weightGcd, rounded down
+     * @param weightGcd Common divisor of the original weights of all bundles
+     * @param originStart Start of each bundle's originals in origin, plus the end
+     * @param origin Indices of the original items, bundle by bundle
+     * @param dropped Items removed entirely
+     * @param merged Items folded into a bundle of identical items
+     */
+    public ReducedGroup(GroupItems original, GroupItems items, int capacity, int reducedCapacity,
+                        int weightGcd, int[] originStart, int[] origin, int dropped, int merged) {
+        this.original = original;
+        this.items = items;
+        this.capacity = capacity;
+        this.reducedCapacity = reducedCapacity;
+        this.weightGcd = weightGcd;
+        this.originStart = originStart;
+        this.origin = origin;
+        this.dropped = dropped;
+        this.merged = merged;
+    }
+
+    /**
+     * Returns the items the engine should solve.
+     */
+    public GroupItems getItems() {
+        return items;
+    }
+
+    /**
+     * Returns the capacity the engine should solve for.
+     */
+    public int getCapacity() {
+        return reducedCapacity;
+    }
+
+    public int getWeightGcd() {
+        return weightGcd;
+    }
+
+    public int getItemsBefore() {
+        return original.size();
+    }
+
+    public int getItemsAfter() {
+        return items.size();
+    }
+
+    public int getDropped() {
+        return dropped;
+    }
+
+    public int getMerged() {
+        return merged;
+    }
+
+    /**
+     * Whether the engine will see a different group than the original.
+     */
+    public boolean isReduced() {
+        return items != original;
+    }
+
+    /**
+     * Maps an engine's result on the reduced group back to the original items.
+     * The engine's items only carry their value and reduced weight, so each is
+     * matched to an unused bundle with the same pair; bundles with equal pairs add
+     * the same value and weight, so any such match is an equally good selection.
+     * Time Complexity: O(m log m) for the selection in original order
+     * Space Complexity: O(m)
+     *
+     * @param result The engine's result on getItems() and getCapacity()
+     * @return The same result in terms of the original items and capacity
+     */
+    public GroupResult expand(GroupResult result) {
+        if (!isReduced()) {
+            return result;
+        }
+        HashMap<Long, ArrayDeque<Integer>> bundlesByPair = new HashMap<>();
+        for (int b = 0; b < items.size(); b++) {
+            bundlesByPair.computeIfAbsent(pair(items.getValue(b), items.getWeight(b)), key -> new ArrayDeque<>())
+                .add(b);
+        }
+
+        int[] picked = new int[original.size()];
+        int count = 0;
+        for (Item item : result.getSelectedItems()) {
+            ArrayDeque<Integer> candidates = bundlesByPair.get(pair(item.getValue(), item.getBaseWeight()));
+            if (candidates == null || candidates.isEmpty()) {
+                throw new IllegalStateException("Selected item " + item + " is not in the reduced group");
+            }
+            int b = candidates.poll();
+            for (int k = originStart[b]; k < originStart[b + 1]; k++) {
+                picked[count++] = origin[k];
+            }
+        }
+        Arrays.sort(picked, 0, count);
+
+        ArrayList<Item> selected = new ArrayList<>(count);
+        int weight = 0;
+        int value = 0;
+        for (int k = 0; k < count; k++) {
+            selected.add(original.toItem(picked[k]));
+            weight += original.getWeight(picked[k]);
+            value += original.getValue(picked[k]);
+        }
+        GroupResult expanded = new GroupResult(original.getGroupIndex(), count, weight, value, selected,
+            result.isExact(), result.getUpperBound());
+        expanded.setPlan(result.getPlan());
+        expanded.setWork(result.getCellsVisited(), result.getImprovements(), result.getPeakTableBytes());
+        return expanded;
+    }
+
+    private static long pair(int value, int weight) {
+        return (long) value << 32 | (weight & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public String toString() {
+        if (!isReduced()) {
+            return String.format("%d items, not reduced", original.size());
+        }
+        String items = String.format("%d -> %d items (%d dropped, %d merged)",
+            original.size(), this.items.size(), dropped, merged);
+        return weightGcd == 1
+            ? items
+            : String.format("%s, T %d -> %d (weights / %d)", items, capacity, reducedCapacity, weightGcd);
+    }
+}
@@ -25,6 +25,69 @@ public class ResultFormatter {
         return sb.toString();
     }
     
+    /**
+     * Formats the per-group measurements of a solve: engine, wall time, cells
+     * visited, improvements, bytes allocated and peak table size, then the totals.
+     * Kept apart from format() so the regular output does not change.
+     * Time Complexity: O(G)
+     * Space Complexity: O(G) for building the result string
+     * 
+     * @param result The solver result to format
+     * @return One line per measured group plus a total line, or an empty string if
+     *         no group was measured (shared mode)
+     */
+    public static String formatMetrics(SolverResult result) {
+        StringBuilder sb = new StringBuilder();
+        if (result.getGroupResults() == null) {
+            return "";
+        }
+        for (GroupResult groupResult : result.getGroupResults()) {
+            if (groupResult.getEngine() == null) continue;
+            sb.append(String.format(
+                "• Group %d: %s, %.3f ms, %,d cells, %,d improvements, %s allocated, peak table %s\n",
+                groupResult.getGroupIndex(),
+                groupResult.getEngine(),
+                groupResult.getWallTimeNanos() / 1_000_000.0,
+                groupResult.getCellsVisited(),
+                groupResult.getImprovements(),
+                describeBytes(groupResult.getBytesAllocated()),
+                describeBytes(groupResult.getPeakTableBytes())
+            ));
+        }
+        if (sb.length() == 0) {
+            return "";
+        }
+        sb.insert(0, "Group Metrics:\n");
+        sb.append(String.format(
+            "Total: %,d cells, %,d improvements, %s allocated, largest table %s\n",
+            result.getTotalCellsVisited(),
+            result.getTotalImprovements(),
+            describeBytes(result.getTotalBytesAllocated()),
+            describeBytes(result.getPeakTableBytes())
+        ));
+        return sb.toString();
+    }
+    
+    /**
+     * Describes a byte count in B, KB, MB or GB; "unknown" when negative.
+     */
+    private static String describeBytes(long bytes) {
+        if (bytes < 0) {
+            return "unknown";
+        }
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        String[] units = {"KB", "MB", "GB"};
+        double amount = bytes / 1024.0;
+        int unit = 0;
+        while (amount >= 1024 && unit < units.length - 1) {
+            amount /= 1024;
+            unit++;
+        }
+        return String.format("%.1f %s", amount, units[unit]);
+    }
+    
     /**
      * Appends the header section.
      */
@@ -37,7 +100,7 @@ public class ResultFormatter {
     /**
      * Appends the maximum output value.
      */
-    private static void appendOutputValue(StringBuilder sb, int maxValue) {
+    private static void appendOutputValue(StringBuilder sb, long maxValue) {
         sb.append("OUTPUT:\n");
         sb.append(maxValue).append("\n\n");
     }
@@ -53,16 +116,30 @@ public class ResultFormatter {
         sb.append("Group Results:\n");
         for (GroupResult groupResult : result.getGroupResults()) {
             sb.append(String.format(
-                "• Group %d: %d items, Dynamic Time used: %d, Max Value = %d\n",
+                "• Group %d: %d items, Dynamic Time used: %d, Max Value = %d%s\n",
                 groupResult.getGroupIndex(),
                 groupResult.getItemsSelected(),
                 groupResult.getDynamicTimeUsed(),
-                groupResult.getMaxValue()
+                groupResult.getMaxValue(),
+                describeBound(groupResult)
             ));
         }
         sb.append("\n");
     }
     
+    /**
+     * Describes how close a group result is to its optimum; empty when it is exact.
+     */
+    private static String describeBound(GroupResult groupResult) {
+        if (groupResult.isExact()) {
+            return "";
+        }
+        if (groupResult.getUpperBound() == Integer.MAX_VALUE) {
+            return " (search limit reached, best found)";
+        }
+        return String.format(" (not proven optimal, optimum at most %d)", groupResult.getUpperBound());
+    }
+    
     /**
      * Appends the optimal selection for each group.
      */
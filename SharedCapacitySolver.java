@@ -0,0 +1,271 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Solves the shared-capacity variant: every group picks a selection of its own
+ * items, all selections together must fit in one time limit T, and the answer is
+ * the best total value. Each group is a choice among the points of its capacity
+ * profile, so the best total for every capacity is the max-plus convolution
+ * C[t] = max over s of A[t - s] + B[s] of the group profiles, merged one by one
+ * into an accumulator. Each merge uses the cheapest exact method that applies:
+ * - either side concave: the best split s is monotone in t, found by divide and
+ *   conquer in O(T log T)
+ * - otherwise: all pairs of steps of the two step functions, O(sA * sB + T), or
+ *   the group's own item passes over the accumulator, O(m * T), whichever is less
+ * The split chosen at every total is kept so the selection of each group can be
+ * rebuilt once the best total is known. Totals are kept in longs: each group's
+ * value fits in an int, but their sum need not.
+ */
+public class SharedCapacitySolver {
+    private final int T;
+
+    /**
+     * Constructs a SharedCapacitySolver.
+     *
+     * @param T Time limit shared by all groups
+     */
+    public SharedCapacitySolver(int T) {
+        this.T = T;
+    }
+
+    /**
+     * Merges the profiles and rebuilds every group's selection at the best total.
+     * Time Complexity: O(G * T log T) when profiles are concave, otherwise
+     *   O(sum over groups of min(sA * sB, m * T) + G * T)
+     * Space Complexity: O(G * T) for the splits kept for reconstruction
+     *
+     * @param profiles One classic profile per non-empty group, all with capacity T
+     * @return One result per group, ordered by group index; their weights sum to at most T
+     */
+    public ArrayList<GroupResult> solve(List<CapacityProfile> profiles) {
+        ArrayList<GroupResult> groupResults = new ArrayList<>();
+        if (profiles.isEmpty()) {
+            return groupResults;
+        }
+
+        // Concave profiles first keep the accumulator concave for as long as possible,
+        // then fewest steps first keep the step pairs cheap
+        ArrayList<Profile> order = new ArrayList<>();
+        for (CapacityProfile profile : profiles) {
+            order.add(new Profile(profile));
+        }
+        order.sort(Comparator.comparing((Profile p) -> !p.concave)
+            .thenComparingInt(p -> p.profile.getStepCount()));
+
+        long[] acc = order.get(0).dense;
+        boolean accConcave = order.get(0).concave;
+        Merge[] merges = new Merge[order.size()];
+        for (int k = 1; k < order.size(); k++) {
+            Profile next = order.get(k);
+            long[] merged = new long[T + 1];
+            if (next.concave || accConcave) {
+                merges[k] = mergeMonotone(acc, accConcave, next, merged);
+            } else {
+                long accSteps = countSteps(acc);
+                long pairCost = accSteps * next.profile.getStepCount();
+                long passCost = (long) next.profile.getGroupItems().size() * T;
+                merges[k] = pairCost <= passCost
+                    ? mergeSteps(acc, next, merged)
+                    : mergeItems(acc, next, merged);
+            }
+            acc = merged;
+            // Max-plus convolution of concave functions is concave
+            accConcave = accConcave && next.concave;
+        }
+
+        // The smallest total reaching the best value, then each group's share of it,
+        // last merge first
+        int t = T;
+        while (t > 0 && acc[t - 1] == acc[T]) t--;
+        GroupResult[] results = new GroupResult[order.size()];
+        for (int k = order.size() - 1; k >= 1; k--) {
+            Merge merge = merges[k];
+            if (merge.choice != null) {
+                results[k] = merge.rebuildItems(t);
+            } else {
+                results[k] = order.get(k).profile.selectionAt(merge.split[t]);
+            }
+            t -= results[k].getDynamicTimeUsed();
+        }
+        results[0] = order.get(0).profile.selectionAt(t);
+
+        groupResults.addAll(Arrays.asList(results));
+        groupResults.sort(Comparator.comparingInt(GroupResult::getGroupIndex));
+        return groupResults;
+    }
+
+    /**
+     * Convolves the accumulator with a profile into values when one of them is
+     * concave, by divide and conquer over the monotone best split.
+     */
+    private Merge mergeMonotone(long[] acc, boolean accConcave, Profile next, long[] values) {
+        int[] arg = new int[T + 1];
+        // The concave side is indexed by t - s, the other by s
+        boolean profileConcave = !accConcave;
+        long[] arbitrary = profileConcave ? acc : next.dense;
+        long[] concave = profileConcave ? next.dense : acc;
+        monotoneMax(arbitrary, concave, values, arg, 0, T, 0, T);
+
+        int[] split = new int[T + 1];
+        for (int t = 0; t <= T; t++) {
+            split[t] = profileConcave ? t - arg[t] : arg[t];
+        }
+        return new Merge(split);
+    }
+
+    /**
+     * Computes out[t] = max over s in [optLo, min(optHi, t)] of arbitrary[s] + concave[t - s]
+     * for t in [lo, hi]. Because concave is concave the leftmost best s never
+     * decreases as t grows, so each half only searches one side of the middle's s.
+     * Time Complexity: O((hi - lo + optHi - optLo) * log(hi - lo))
+     */
+    private static void monotoneMax(long[] arbitrary, long[] concave, long[] out, int[] arg,
+                                    int lo, int hi, int optLo, int optHi) {
+        if (lo > hi) return;
+        int t = (lo + hi) >>> 1;
+        long best = Long.MIN_VALUE;
+        int bestS = optLo;
+        int end = Math.min(optHi, t);
+        for (int s = optLo; s <= end; s++) {
+            long v = arbitrary[s] + concave[t - s];
+            if (v > best) {
+                best = v;
+                bestS = s;
+            }
+        }
+        out[t] = best;
+        arg[t] = bestS;
+        monotoneMax(arbitrary, concave, out, arg, lo, t - 1, optLo, bestS);
+        monotoneMax(arbitrary, concave, out, arg, t + 1, hi, bestS, optHi);
+    }
+
+    /**
+     * Convolves two step functions into values by trying every pair of steps: the
+     * best total at capacity t is reached by some pair whose step starts sum to at most t.
+     */
+    private Merge mergeSteps(long[] acc, Profile next, long[] values) {
+        int[] split = new int[T + 1];
+        Arrays.fill(values, Long.MIN_VALUE);
+        CapacityProfile profile = next.profile;
+
+        long accValue = -1;
+        for (int a = 0; a <= T; a++) {
+            if (a > 0 && acc[a] == accValue) continue; // Only step starts
+            accValue = acc[a];
+            for (int j = 0; j < profile.getStepCount(); j++) {
+                int c = a + profile.getStepCapacity(j);
+                if (c > T) break;
+                long v = accValue + profile.getStepValue(j);
+                if (v > values[c]) {
+                    values[c] = v;
+                    split[c] = profile.getStepCapacity(j);
+                }
+            }
+        }
+        // A pair reaching t also fits every larger capacity; on ties keep the smaller total
+        for (int t = 1; t <= T; t++) {
+            if (values[t - 1] >= values[t]) {
+                values[t] = values[t - 1];
+                split[t] = split[t - 1];
+            }
+        }
+        return new Merge(split);
+    }
+
+    /**
+     * Merges a group by running its items' 0/1 passes over the accumulator, which
+     * is the same as convolving with its profile, recording one choice bit per
+     * (item, capacity) to rebuild the group's selection.
+     */
+    private Merge mergeItems(long[] acc, Profile next, long[] values) {
+        GroupItems groupItems = next.profile.getGroupItems();
+        int m = groupItems.size();
+        System.arraycopy(acc, 0, values, 0, T + 1);
+        int words = (T >>> 6) + 1;
+        long[] choice = new long[Math.multiplyExact(m, words)];
+        for (int i = 0; i < m; i++) {
+            int w = groupItems.getWeight(i);
+            int v = groupItems.getValue(i);
+            int row = i * words;
+            for (int t = T; t >= w; t--) {
+                long nv = values[t - w] + v;
+                if (nv > values[t]) {
+                    values[t] = nv;
+                    choice[row + (t >>> 6)] |= 1L << t;
+                }
+            }
+        }
+        return new Merge(groupItems, choice, words);
+    }
+
+    private static int countSteps(long[] dense) {
+        int steps = 1;
+        for (int t = 1; t < dense.length; t++) {
+            if (dense[t] != dense[t - 1]) steps++;
+        }
+        return steps;
+    }
+
+    /**
+     * A group's profile expanded to every capacity, and whether it is concave.
+     */
+    private static final class Profile {
+        private final CapacityProfile profile;
+        private final long[] dense;
+        private final boolean concave;
+
+        Profile(CapacityProfile profile) {
+            this.profile = profile;
+            int[] values = profile.toArray();
+            this.dense = new long[values.length];
+            for (int t = 0; t < values.length; t++) dense[t] = values[t];
+            boolean concave = true;
+            for (int t = 2; t < dense.length && concave; t++) {
+                concave = dense[t] - dense[t - 1] <= dense[t - 1] - dense[t - 2];
+            }
+            this.concave = concave;
+        }
+    }
+
+    /**
+     * How to recover a merged group's share of any total: either the capacity
+     * given to it, or its item choice bits.
+     */
+    private static final class Merge {
+        private final int[] split;
+        private final GroupItems groupItems;
+        private final long[] choice;
+        private final int words;
+
+        Merge(int[] split) {
+            this(split, null, null, 0);
+        }
+
+        Merge(GroupItems groupItems, long[] choice, int words) {
+            this(null, groupItems, choice, words);
+        }
+
+        private Merge(int[] split, GroupItems groupItems, long[] choice, int words) {
+            this.split = split;
+            this.groupItems = groupItems;
+            this.choice = choice;
+            this.words = words;
+        }
+
+        /**
+         * Rebuilds the group's items taken at total t from its choice bits.
+         */
+        GroupResult rebuildItems(int t) {
+            ArrayList<Item> selected = KnapsackSolver.reconstructSelection(groupItems, choice, words, t);
+            int weight = 0;
+            int value = 0;
+            for (Item item : selected) {
+                weight += item.getBaseWeight();
+                value += item.getValue();
+            }
+            return new GroupResult(groupItems.getGroupIndex(), selected.size(), weight, value, selected);
+        }
+    }
+}
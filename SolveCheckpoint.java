@@ -0,0 +1,453 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Periodic checkpoints of a running solve, so a restarted solve of the same
+ * instance resumes where the last one stopped instead of starting over.
+ * A checkpoint holds every completed group's result and, for the dense DP group in
+ * progress, its DP row, the choice bits of the items already applied and the
+ * number of those items. Writing happens on a background thread: the solving
+ * thread only copies the DP row when a checkpoint is due and the writer is idle,
+ * and never waits for the disk. The choice-bit rows of applied items never
+ * change again, so the writer reads them in place and appends only the rows added
+ * since the last checkpoint to a side file (the checkpoint's name plus ".bits");
+ * the main file, holding everything else, stays small and is replaced atomically
+ * after the bits are on disk. It starts with a SHA-256 fingerprint of the instance
+ * and the settings that affect results; files for anything else are ignored.
+ * The side file starts over for each new table, so it begins with the fingerprint
+ * and the table its rows belong to: a crash between starting it and replacing the
+ * main file leaves a main file for another table, whose progress is then dropped
+ * instead of resumed with the wrong rows. Both are deleted once the solve completes.
+ */
+public class SolveCheckpoint {
+    private static final int FILE_MAGIC = 0x4B534350; // "KSCP"
+    private static final int BITS_MAGIC = 0x4B534342; // "KSCB"
+    private static final int FILE_VERSION = 2;
+    private static final int FINGERPRINT_BYTES = 32;
+    private static final int BITS_HEADER_BYTES = 4 + 4 + FINGERPRINT_BYTES + 4 * 4;
+    private static final int COPY_BYTES = 1 << 16; // Bulk copies of the DP row and choice bits
+
+    private final Path path;
+    private final Path bitsPath;
+    private final long intervalNanos;
+    private final byte[] fingerprint;
+    private final TreeMap<Integer, GroupResult> completed = new TreeMap<>();
+    private Partial resumedPartial; // Dense DP state loaded from the file, until claimed
+    private volatile long nextDue;
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "checkpoint-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean writing = new AtomicBoolean();
+    // Table whose choice rows the bits file holds, and how many; used by the writer only
+    private int bitsGroup = -1;
+    private int bitsCapacity;
+    private int bitsRows;
+
+    private SolveCheckpoint(Path path, long intervalMillis, byte[] fingerprint) {
+        this.path = path;
+        this.bitsPath = path.resolveSibling(path.getFileName() + ".bits");
+        this.intervalNanos = intervalMillis * 1_000_000L;
+        this.fingerprint = fingerprint;
+        this.nextDue = System.nanoTime() + intervalNanos;
+    }
+
+    /**
+     * Computes the fingerprint of an instance: every item in order plus the given
+     * settings.
+     * Time Complexity: O(N)
+     * Space Complexity: O(N)
+     *
+     * @param items All items of the instance
+     * @param settings Solver settings that change the result, e.g. G, T, R and the mode
+     * @return SHA-256 digest identifying the instance and settings
+     */
+    public static byte[] fingerprintOf(ItemTable items, long... settings) {
+        ByteBuffer buffer = ByteBuffer.allocate(8 * (settings.length + 1) + 12 * items.size());
+        buffer.putLong(items.size());
+        for (long setting : settings) buffer.putLong(setting);
+        for (int i = 0; i < items.size(); i++) {
+            buffer.putInt(items.getValue(i)).putInt(items.getWeight(i)).putInt(items.getGroup(i));
+        }
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(buffer.array());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Opens the checkpoint of a solve, loading the state of an earlier run from the
+     * file if it exists and has the same fingerprint.
+     *
+     * @param path The checkpoint file
+     * @param intervalMillis Time between checkpoints
+     * @param fingerprint From fingerprintOf for the instance being solved
+     * @return The checkpoint, holding any state to resume from
+     * @throws IOException If an existing file cannot be read
+     */
+    public static SolveCheckpoint open(Path path, long intervalMillis, byte[] fingerprint) throws IOException {
+        SolveCheckpoint checkpoint = new SolveCheckpoint(path, intervalMillis, fingerprint);
+        if (Files.exists(path)) {
+            checkpoint.load();
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Returns the stored result of a group completed before, or null.
+     */
+    public synchronized GroupResult completedResult(int groupIndex) {
+        return completed.get(groupIndex);
+    }
+
+    public synchronized int completedCount() {
+        return completed.size();
+    }
+
+    /**
+     * Records a completed group and writes a checkpoint if one is due.
+     *
+     * @param result The group's result
+     */
+    public void groupDone(GroupResult result) {
+        synchronized (this) {
+            completed.put(result.getGroupIndex(), result);
+        }
+        if (System.nanoTime() >= nextDue) {
+            requestWrite(null);
+        }
+    }
+
+    /**
+     * Called by the dense DP after each item pass; writes a checkpoint with the
+     * group's progress if one is due and the writer is idle. Costs one clock read
+     * otherwise.
+     *
+     * @param groupIndex The group being solved
+     * @param capacity Capacity of its DP row
+     * @param itemCount Items in the group, i.e. rows of choice bits
+     * @param itemsDone Items applied to dp so far
+     * @param dp The DP row after itemsDone items; copied before returning
+     * @param choice Choice bits; rows below itemsDone are final and read by the writer
+     * @param words Number of longs per row
+     */
+    public void itemDone(int groupIndex, int capacity, int itemCount, int itemsDone,
+                         int[] dp, long[] choice, int words) {
+        if (System.nanoTime() < nextDue || writing.get()) return;
+        requestWrite(new Partial(groupIndex, capacity, itemCount, itemsDone, words,
+            Arrays.copyOf(dp, capacity + 1), choice));
+    }
+
+    /**
+     * Restores the dense DP state of a group that was in progress, if the file had
+     * one for the same group and table shape. The state is handed out only once.
+     *
+     * @param groupIndex The group about to be solved
+     * @param capacity Capacity of its DP row
+     * @param itemCount Items in the group
+     * @param dp The fresh DP row, filled with the saved one
+     * @param choice Fresh choice bits, filled with the saved rows
+     * @param words Number of longs per row
+     * @return Items already applied, 0 if there is nothing to resume
+     */
+    public synchronized int resumeGroup(int groupIndex, int capacity, int itemCount,
+                                        int[] dp, long[] choice, int words) {
+        Partial partial = resumedPartial;
+        if (partial == null || partial.groupIndex != groupIndex || partial.capacity != capacity
+                || partial.itemCount != itemCount || partial.words != words) {
+            return 0;
+        }
+        resumedPartial = null;
+        System.arraycopy(partial.dp, 0, dp, 0, capacity + 1);
+        System.arraycopy(partial.choice, 0, choice, 0, partial.itemsDone * words);
+        return partial.itemsDone;
+    }
+
+    /**
+     * Waits for a write in progress and deletes the files: the solve is complete.
+     *
+     * @throws IOException If a file cannot be deleted
+     */
+    public void finish() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(bitsPath);
+    }
+
+    /**
+     * Waits for a write in progress and stops the writer, keeping the files.
+     */
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Hands a snapshot to the writer unless it is still busy with the last one.
+     */
+    private void requestWrite(Partial partial) {
+        if (!writing.compareAndSet(false, true)) return;
+        nextDue = System.nanoTime() + intervalNanos;
+        ArrayList<GroupResult> results;
+        synchronized (this) {
+            results = new ArrayList<>(completed.values());
+        }
+        try {
+            writer.execute(() -> {
+                try {
+                    write(results, partial);
+                } catch (IOException e) {
+                    System.err.println("Checkpoint to " + path + " failed: " + e.getMessage());
+                } finally {
+                    writing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            writing.set(false); // Closed while solving; nothing left to save
+        }
+    }
+
+    private void write(ArrayList<GroupResult> results, Partial partial) throws IOException {
+        if (partial != null) {
+            appendChoiceBits(partial);
+        }
+        Path dir = path.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            out.write(fingerprint);
+            out.writeInt(results.size());
+            for (GroupResult result : results) {
+                writeResult(out, result);
+            }
+            out.writeBoolean(partial != null);
+            if (partial != null) {
+                out.writeInt(partial.groupIndex);
+                out.writeInt(partial.capacity);
+                out.writeInt(partial.itemCount);
+                out.writeInt(partial.itemsDone);
+                out.writeInt(partial.words);
+                writeInts(out, partial.dp, partial.capacity + 1);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void load() throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                throw new IOException("Not a solver checkpoint file: " + path);
+            }
+            byte[] stored = new byte[FINGERPRINT_BYTES];
+            in.readFully(stored);
+            if (!Arrays.equals(stored, fingerprint)) {
+                return; // A checkpoint of another instance or other settings
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                GroupResult result = readResult(in);
+                completed.put(result.getGroupIndex(), result);
+            }
+            if (in.readBoolean()) {
+                int groupIndex = in.readInt();
+                int capacity = in.readInt();
+                int itemCount = in.readInt();
+                int itemsDone = in.readInt();
+                int words = in.readInt();
+                int[] dp = new int[capacity + 1];
+                readInts(in, dp);
+                long[] choice = readChoiceBits(groupIndex, capacity, itemCount, words,
+                    Math.multiplyExact(itemsDone, words));
+                if (choice != null) {
+                    resumedPartial = new Partial(groupIndex, capacity, itemCount, itemsDone, words, dp, choice);
+                    bitsGroup = groupIndex;
+                    bitsCapacity = capacity;
+                    bitsRows = itemsDone;
+                }
+            }
+        }
+    }
+
+    /**
+     * Brings the bits file up to the partial's applied items: appends the rows added
+     * since the last checkpoint, or starts over with a new header for another table.
+     */
+    private void appendChoiceBits(Partial partial) throws IOException {
+        boolean sameTable = partial.groupIndex == bitsGroup && partial.capacity == bitsCapacity;
+        int kept = sameTable ? Math.min(bitsRows, partial.itemsDone) : 0;
+        try (FileChannel channel = FileChannel.open(bitsPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(COPY_BYTES);
+            if (!sameTable) {
+                channel.truncate(0);
+                buffer.putInt(BITS_MAGIC).putInt(FILE_VERSION).put(fingerprint)
+                    .putInt(partial.groupIndex).putInt(partial.capacity)
+                    .putInt(partial.itemCount).putInt(partial.words).flip();
+                while (buffer.hasRemaining()) channel.write(buffer);
+            }
+            long start = BITS_HEADER_BYTES + (long) kept * partial.words * Long.BYTES;
+            channel.truncate(start);
+            channel.position(start);
+            int end = partial.itemsDone * partial.words;
+            for (int k = kept * partial.words; k < end; ) {
+                int n = Math.min(end - k, COPY_BYTES / Long.BYTES);
+                buffer.clear();
+                buffer.asLongBuffer().put(partial.choice, k, n);
+                buffer.limit(n * Long.BYTES);
+                while (buffer.hasRemaining()) channel.write(buffer);
+                k += n;
+            }
+            channel.force(false); // The main file must never count rows that are not on disk
+        }
+        bitsGroup = partial.groupIndex;
+        bitsCapacity = partial.capacity;
+        bitsRows = partial.itemsDone;
+    }
+
+    /**
+     * Reads the first rows of the bits file, or returns null if it has fewer or
+     * its header names another instance or table.
+     */
+    private long[] readChoiceBits(int groupIndex, int capacity, int itemCount, int words,
+                                  int length) throws IOException {
+        if (!Files.exists(bitsPath)
+                || Files.size(bitsPath) < BITS_HEADER_BYTES + (long) length * Long.BYTES) {
+            return null;
+        }
+        long[] choice = new long[length];
+        try (FileChannel channel = FileChannel.open(bitsPath, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(COPY_BYTES);
+            buffer.limit(BITS_HEADER_BYTES);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) return null;
+            }
+            buffer.flip();
+            if (buffer.getInt() != BITS_MAGIC || buffer.getInt() != FILE_VERSION) {
+                return null;
+            }
+            byte[] stored = new byte[FINGERPRINT_BYTES];
+            buffer.get(stored);
+            if (!Arrays.equals(stored, fingerprint) || buffer.getInt() != groupIndex || buffer.getInt() != capacity
+                    || buffer.getInt() != itemCount || buffer.getInt() != words) {
+                return null; // Rows of a table the main file does not describe
+            }
+            for (int k = 0; k < length; ) {
+                int n = Math.min(length - k, COPY_BYTES / Long.BYTES);
+                buffer.clear().limit(n * Long.BYTES);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) return null;
+                }
+                buffer.flip();
+                buffer.asLongBuffer().get(choice, k, n);
+                k += n;
+            }
+        }
+        return choice;
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(COPY_BYTES);
+        for (int k = 0; k < length; ) {
+            int n = Math.min(length - k, COPY_BYTES / Integer.BYTES);
+            buffer.clear();
+            buffer.asIntBuffer().put(values, k, n);
+            out.write(buffer.array(), 0, n * Integer.BYTES);
+            k += n;
+        }
+    }
+
+    private static void readInts(DataInputStream in, int[] values) throws IOException {
+        byte[] bytes = new byte[COPY_BYTES];
+        for (int k = 0; k < values.length; ) {
+            int n = Math.min(values.length - k, COPY_BYTES / Integer.BYTES);
+            in.readFully(bytes, 0, n * Integer.BYTES);
+            ByteBuffer.wrap(bytes).asIntBuffer().get(values, k, n);
+            k += n;
+        }
+    }
+
+    private static void writeResult(DataOutputStream out, GroupResult result) throws IOException {
+        out.writeInt(result.getGroupIndex());
+        out.writeInt(result.getDynamicTimeUsed());
+        out.writeInt(result.getMaxValue());
+        out.writeBoolean(result.isExact());
+        out.writeInt(result.getUpperBound());
+        ArrayList<Item> selected = result.getSelectedItems();
+        out.writeInt(selected.size());
+        for (Item item : selected) {
+            out.writeInt(item.getValue());
+            out.writeInt(item.getBaseWeight());
+        }
+    }
+
+    private static GroupResult readResult(DataInputStream in) throws IOException {
+        int groupIndex = in.readInt();
+        int dynamicTimeUsed = in.readInt();
+        int maxValue = in.readInt();
+        boolean exact = in.readBoolean();
+        int upperBound = in.readInt();
+        int count = in.readInt();
+        ArrayList<Item> selected = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int value = in.readInt();
+            int weight = in.readInt();
+            selected.add(new Item(value, weight, groupIndex));
+        }
+        return new GroupResult(groupIndex, count, dynamicTimeUsed, maxValue, selected, exact, upperBound);
+    }
+
+    /**
+     * Progress of the dense DP group being solved.
+     */
+    private static final class Partial {
+        private final int groupIndex;
+        private final int capacity;
+        private final int itemCount;
+        private final int itemsDone;
+        private final int words;
+        private final int[] dp;
+        private final long[] choice;
+
+        Partial(int groupIndex, int capacity, int itemCount, int itemsDone, int words,
+                int[] dp, long[] choice) {
+            this.groupIndex = groupIndex;
+            this.capacity = capacity;
+            this.itemCount = itemCount;
+            this.itemsDone = itemsDone;
+            this.words = words;
+            this.dp = dp;
+            this.choice = choice;
+        }
+    }
+}
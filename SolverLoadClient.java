@@ -0,0 +1,100 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load generator for SolverServer. Opens several connections that each send the
+ * same instance back to back, then prints throughput, client-side latency
+ * percentiles and the server's own statistics.
+ * <p>
+ * Usage: java SolverLoadClient INSTANCE [--port=N | --unix=PATH] [--connections=N] [--requests=N]
+ */
+public class SolverLoadClient {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String instancePath = null;
+        int connections = 8;
+        int requests = 1000; // Per connection
+        for (String arg : args) {
+            if (arg.startsWith("--connections=")) {
+                connections = Integer.parseInt(arg.substring("--connections=".length()));
+            } else if (arg.startsWith("--requests=")) {
+                requests = Integer.parseInt(arg.substring("--requests=".length()));
+            } else if (!arg.startsWith("--")) {
+                instancePath = arg;
+            }
+        }
+        if (instancePath == null) {
+            System.err.println("Usage: java SolverLoadClient INSTANCE [--port=N | --unix=PATH] "
+                + "[--connections=N] [--requests=N]");
+            System.exit(2);
+        }
+
+        SocketAddress address = SolverServer.parseAddress(args);
+        byte[] payload = Files.readAllBytes(Path.of(instancePath));
+        int perConnection = requests;
+        SolverServer.LatencyRecorder latencies = new SolverServer.LatencyRecorder(connections * requests);
+        AtomicInteger errors = new AtomicInteger();
+
+        Thread[] threads = new Thread[connections];
+        long start = System.nanoTime();
+        for (int c = 0; c < connections; c++) {
+            threads[c] = new Thread(() -> {
+                try (SocketChannel channel = open(address);
+                     DataInputStream in = new DataInputStream(
+                         new BufferedInputStream(Channels.newInputStream(channel)));
+                     DataOutputStream out = new DataOutputStream(
+                         new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+                    for (int r = 0; r < perConnection; r++) {
+                        long sent = System.nanoTime();
+                        out.writeInt(payload.length);
+                        out.write(payload);
+                        out.flush();
+                        String response = SolverServer.readMessage(in);
+                        latencies.record(System.nanoTime() - sent);
+                        if (response.startsWith("ERROR")) errors.incrementAndGet();
+                    }
+                } catch (IOException e) {
+                    System.err.println("Connection failed: " + e.getMessage());
+                    errors.incrementAndGet();
+                }
+            }, "load-" + c);
+            threads[c].start();
+        }
+        for (Thread thread : threads) thread.join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("requests=%d errors=%d throughput=%.1f/s p50=%.3fms p99=%.3fms%n",
+            latencies.count(), errors.get(), latencies.count() / seconds,
+            latencies.percentile(0.50) / 1_000_000.0,
+            latencies.percentile(0.99) / 1_000_000.0);
+
+        try (SocketChannel channel = open(address);
+             DataInputStream in = new DataInputStream(Channels.newInputStream(channel));
+             DataOutputStream out = new DataOutputStream(Channels.newOutputStream(channel))) {
+            SolverServer.writeMessage(out, "");
+            System.out.println("server: " + SolverServer.readMessage(in));
+        }
+    }
+
+    private static SocketChannel open(SocketAddress address) throws IOException {
+        SocketChannel channel = address instanceof UnixDomainSocketAddress
+            ? SocketChannel.open(StandardProtocolFamily.UNIX)
+            : SocketChannel.open();
+        channel.connect(address);
+        if (!(address instanceof UnixDomainSocketAddress)) {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        }
+        return channel;
+    }
+}
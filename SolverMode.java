@@ -0,0 +1,22 @@
+/**
+ * Selects how item weights are charged against the time limit.
+ */
+public enum SolverMode {
+    /** 0/1 knapsack on base weights only; R is ignored. */
+    CLASSIC("Classic"),
+    /** The k-th selected item (k = 1, 2, ...) costs baseWeight + R * k. */
+    DYNAMIC("Dynamic (R)"),
+    /** Base weights, with every group's selection sharing the one limit T; the answer is their total. */
+    SHARED("Shared T");
+
+    private final String label;
+
+    SolverMode(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -4,7 +4,7 @@ import java.util.ArrayList;
  * Represents the complete result of solving the knapsack problem across all groups.
  */
 public class SolverResult {
-    private int maxValue;
+    private long maxValue; // A sum of group values in shared mode, which can exceed an int
     private double totalTime; // in milliseconds
     private ArrayList<GroupResult> groupResults;
 
@@ -15,13 +15,13 @@ public class SolverResult {
      * @param totalTime The total execution time in milliseconds
      * @param groupResults List of results for each group
      */
-    public SolverResult(int maxValue, double totalTime, ArrayList<GroupResult> groupResults) {
+    public SolverResult(long maxValue, double totalTime, ArrayList<GroupResult> groupResults) {
         this.maxValue = maxValue;
         this.totalTime = totalTime;
         this.groupResults = groupResults;
     }
 
-    public int getMaxValue() {
+    public long getMaxValue() {
         return maxValue;
     }
 
@@ -32,4 +32,44 @@ public class SolverResult {
     public ArrayList<GroupResult> getGroupResults() {
         return groupResults;
     }
+
+    /**
+     * Sums the DP cells, frontier pairs and search nodes of every group.
+     */
+    public long getTotalCellsVisited() {
+        long total = 0;
+        for (GroupResult groupResult : groupResults) total += groupResult.getCellsVisited();
+        return total;
+    }
+
+    /**
+     * Sums the improvements of every group.
+     */
+    public long getTotalImprovements() {
+        long total = 0;
+        for (GroupResult groupResult : groupResults) total += groupResult.getImprovements();
+        return total;
+    }
+
+    /**
+     * Sums the bytes allocated while solving every group, or returns -1 if the JVM
+     * does not report allocations.
+     */
+    public long getTotalBytesAllocated() {
+        long total = 0;
+        for (GroupResult groupResult : groupResults) {
+            if (groupResult.getBytesAllocated() < 0) return -1;
+            total += groupResult.getBytesAllocated();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the largest table any single group used.
+     */
+    public long getPeakTableBytes() {
+        long peak = 0;
+        for (GroupResult groupResult : groupResults) peak = Math.max(peak, groupResult.getPeakTableBytes());
+        return peak;
+    }
 }
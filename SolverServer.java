@@ -0,0 +1,319 @@
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a warm solver JVM resident behind a local TCP or Unix-domain socket.
+ * <p>
+ * Protocol: every message is a 4-byte big-endian length followed by that many
+ * bytes. A request carries one instance in the usual "N G T R" text format and
+ * is answered with the maximum value as text, or "ERROR message". An empty
+ * request is answered with the server statistics.
+ * <p>
+ * Each connection gets its own thread (a virtual thread on JDKs that have them)
+ * that only does I/O. Solving happens on a fixed pool sized to the CPUs: a
+ * dispatcher drains the request queue and hands queued small requests to one
+ * worker as a batch, so bursts of tiny instances do not pay a hand-off each. A
+ * batch is split into one part per solver thread, so it still uses the whole pool.
+ */
+public class SolverServer implements Closeable {
+    private static final int MAX_REQUEST_BYTES = 256 << 20;
+    private static final int MAX_BATCH = 32;
+    private static final int SMALL_REQUEST_BYTES = 64 << 10; // Larger requests are dispatched alone
+    private static final int LATENCY_SAMPLES = 10_000;
+    private static final int MIN_ITEM_BYTES = 6; // "v w g" and a line break
+
+    private final SocketAddress address;
+    private final ServerSocketChannel server;
+    private final ExecutorService connections = newConnectionExecutor();
+    private final ExecutorService cpuPool;
+    private final int cpuThreads;
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final AtomicInteger pending = new AtomicInteger(); // Queued or being solved
+    private final LatencyRecorder latencies = new LatencyRecorder(LATENCY_SAMPLES);
+    private final Consumer<KnapsackSolver> configure;
+    private final Thread dispatcher = new Thread(this::dispatch, "solver-dispatcher");
+
+    /**
+     * Binds the server socket.
+     *
+     * @param address An InetSocketAddress or UnixDomainSocketAddress
+     * @param cpuThreads Number of solver threads
+     * @param configure Applied to every solver before solving
+     * @throws IOException If the address cannot be bound
+     */
+    public SolverServer(SocketAddress address, int cpuThreads, Consumer<KnapsackSolver> configure)
+            throws IOException {
+        this.address = address;
+        this.server = address instanceof UnixDomainSocketAddress
+            ? ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+            : ServerSocketChannel.open();
+        this.server.bind(address);
+        this.cpuPool = Executors.newFixedThreadPool(cpuThreads);
+        this.cpuThreads = cpuThreads;
+        this.configure = configure;
+    }
+
+    /**
+     * Accepts connections until the server is closed.
+     *
+     * @throws IOException If accepting fails for a reason other than closing
+     */
+    public void serve() throws IOException {
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        while (server.isOpen()) {
+            SocketChannel channel;
+            try {
+                channel = server.accept();
+            } catch (IOException e) {
+                if (!server.isOpen()) return;
+                throw e;
+            }
+            if (!(address instanceof UnixDomainSocketAddress)) {
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            }
+            connections.execute(() -> handle(channel));
+        }
+    }
+
+    /**
+     * Returns request count, queue depth and latency percentiles.
+     *
+     * @return A one-line summary
+     */
+    public String stats() {
+        return String.format("requests=%d queueDepth=%d p50=%.3fms p99=%.3fms",
+            latencies.count(), pending.get(),
+            latencies.percentile(0.50) / 1_000_000.0,
+            latencies.percentile(0.99) / 1_000_000.0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        dispatcher.interrupt();
+        connections.shutdownNow();
+        cpuPool.shutdownNow();
+    }
+
+    /**
+     * Serves one connection: reads length-prefixed requests and answers each in turn.
+     */
+    private void handle(SocketChannel channel) {
+        try (channel;
+             DataInputStream in = new DataInputStream(Channels.newInputStream(channel));
+             DataOutputStream out = new DataOutputStream(Channels.newOutputStream(channel))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                if (length < 0 || length > MAX_REQUEST_BYTES) {
+                    writeMessage(out, "ERROR request length " + length + " out of range");
+                    return;
+                }
+                if (length == 0) {
+                    writeMessage(out, stats());
+                    continue;
+                }
+
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                Request request = new Request(payload);
+                pending.incrementAndGet();
+                queue.add(request);
+                writeMessage(out, request.response.get());
+            }
+        } catch (IOException e) {
+            // Client went away; nothing to answer
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Moves queued requests onto the CPU pool, grouping consecutive small ones.
+     */
+    private void dispatch() {
+        try {
+            while (true) {
+                Request first = queue.take();
+                ArrayList<Request> batch = new ArrayList<>();
+                batch.add(first);
+                if (first.payload.length <= SMALL_REQUEST_BYTES) {
+                    Request next;
+                    while (batch.size() < MAX_BATCH
+                            && (next = queue.peek()) != null
+                            && next.payload.length <= SMALL_REQUEST_BYTES) {
+                        batch.add(queue.poll());
+                    }
+                }
+                int parts = Math.min(batch.size(), cpuThreads);
+                for (int k = 0; k < parts; k++) {
+                    List<Request> part = batch.subList(k * batch.size() / parts, (k + 1) * batch.size() / parts);
+                    cpuPool.execute(() -> part.forEach(this::solve));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Solves one request and completes its response. Every failure, Errors such as
+     * running out of memory included, is answered as ERROR, so neither the client
+     * nor the rest of its batch is left waiting.
+     */
+    private void solve(Request request) {
+        String response = "ERROR internal failure";
+        try (FastReader reader = new FastReader(new ByteArrayInputStream(request.payload))) {
+            KnapsackSolver solver = Main.readSolver(reader, request.payload.length / MIN_ITEM_BYTES + 1);
+            configure.accept(solver);
+            response = String.valueOf(solver.solve().getMaxValue());
+        } catch (RuntimeException | IOException e) {
+            response = "ERROR " + e.getMessage();
+        } catch (Error e) {
+            response = "ERROR " + e;
+        } finally {
+            pending.decrementAndGet();
+            latencies.record(System.nanoTime() - request.receivedNanos);
+            request.response.complete(response);
+        }
+    }
+
+    static void writeMessage(DataOutputStream out, String message) throws IOException {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        // One write per message so the prefix and body leave in the same segment
+        byte[] framed = new byte[4 + bytes.length];
+        ByteBuffer.wrap(framed).putInt(bytes.length).put(bytes);
+        out.write(framed);
+        out.flush();
+    }
+
+    static String readMessage(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Uses a virtual thread per connection where the JDK provides them (21+),
+     * otherwise a cached pool of platform threads.
+     */
+    private static ExecutorService newConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Parses "--port=N" or "--unix=PATH" into a socket address, defaulting to TCP port 7070
+     * on the loopback interface.
+     */
+    static SocketAddress parseAddress(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("--unix=")) {
+                return UnixDomainSocketAddress.of(arg.substring("--unix=".length()));
+            }
+            if (arg.startsWith("--port=")) {
+                return new InetSocketAddress("127.0.0.1", Integer.parseInt(arg.substring("--port=".length())));
+            }
+        }
+        return new InetSocketAddress("127.0.0.1", 7070);
+    }
+
+    public static void main(String[] args) throws IOException {
+        SocketAddress address = parseAddress(args);
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (String arg : args) {
+            if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+            }
+        }
+        if (address instanceof UnixDomainSocketAddress) {
+            Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+        }
+
+        try (SolverServer server = new SolverServer(address, threads, solver -> { })) {
+            System.err.println("Solver server listening on " + address);
+            server.serve();
+        }
+    }
+
+    /**
+     * An instance waiting to be solved.
+     */
+    private static final class Request {
+        private final byte[] payload;
+        private final long receivedNanos = System.nanoTime();
+        private final CompletableFuture<String> response = new CompletableFuture<>();
+
+        Request(byte[] payload) {
+            this.payload = payload;
+        }
+    }
+
+    /**
+     * Keeps the most recent latency samples in a ring buffer.
+     */
+    static final class LatencyRecorder {
+        private final long[] samples;
+        private long count;
+
+        LatencyRecorder(int capacity) {
+            samples = new long[capacity];
+        }
+
+        synchronized void record(long nanos) {
+            samples[(int) (count++ % samples.length)] = nanos;
+        }
+
+        synchronized long count() {
+            return count;
+        }
+
+        /**
+         * Returns the given percentile of the retained samples, in nanoseconds.
+         */
+        synchronized long percentile(double p) {
+            int n = (int) Math.min(count, samples.length);
+            if (n == 0) return 0;
+            long[] sorted = Arrays.copyOf(samples, n);
+            Arrays.sort(sorted);
+            return sorted[Math.min(n - 1, (int) Math.ceil(p * n) - 1)];
+        }
+    }
+}
@@ -0,0 +1,117 @@
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Classic 0/1 DP item passes shared by several threads, for a single group whose
+ * capacity range is too large for one core. Each thread owns a slice of capacities
+ * and writes only that slice, reading the previous item's row anywhere below it;
+ * a Phaser barrier separates the items. The in-place descending loop cannot be cut
+ * this way (a slice would read capacities another thread has already updated), so
+ * two rows alternate instead: the new row is computed from the old one, which gives
+ * exactly the values and choice bits of the sequential loop.
+ * Slices are whole multiples of 64 capacities, so no two threads write the same
+ * word of choice bits.
+ */
+final class SplitCapacityKernel {
+    // Smallest slice worth a barrier per item, in words of 64 capacities
+    static final int MIN_WORDS_PER_THREAD = 1024;
+
+    private SplitCapacityKernel() {
+    }
+
+    /**
+     * Runs every item's pass over capacities 0..T, leaving dp[t] as the best value
+     * with base weight at most t. Same results as the sequential passes.
+     * Time Complexity: O(m * T / P) per thread plus one barrier per item
+     * Space Complexity: O(T) for the second row
+     *
+     * @param groupItems Items in this group
+     * @param T Time limit
+     * @param dp The DP row of length T + 1, initially zero; holds the result
+     * @param choice Packed choice bits, one row of words per item, initially zero
+     * @param words Number of longs per row
+     * @param threads Threads to split the capacities over, including the caller
+     * @throws IllegalStateException If a worker fails
+     */
+    static void fill(GroupItems groupItems, int T, int[] dp, long[] choice, int words, int threads) {
+        // Items heavier than T never change the row, so they get no pass
+        int m = groupItems.size();
+        int[] passes = new int[m];
+        int passCount = 0;
+        for (int i = 0; i < m; i++) {
+            if (groupItems.getWeight(i) <= T) passes[passCount++] = i;
+        }
+
+        int[][] rows = {dp, new int[T + 1]};
+        int wordsPerThread = (words + threads - 1) / threads;
+        Phaser barrier = new Phaser(threads);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        int itemPasses = passCount;
+
+        Thread[] workers = new Thread[threads - 1];
+        for (int k = 1; k < threads; k++) {
+            int slice = k;
+            workers[k - 1] = new Thread(() -> runSlice(groupItems, T, rows, choice, words, passes,
+                itemPasses, slice * wordsPerThread, wordsPerThread, barrier, failure), "dp-slice-" + k);
+            workers[k - 1].setDaemon(true);
+            workers[k - 1].start();
+        }
+        runSlice(groupItems, T, rows, choice, words, passes, itemPasses, 0, wordsPerThread, barrier, failure);
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                barrier.forceTermination();
+                throw new IllegalStateException("Interrupted while filling the DP table", e);
+            }
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("DP slice failed: " + failure.get().getMessage(), failure.get());
+        }
+
+        // The last pass wrote rows[passCount % 2]
+        if ((passCount & 1) == 1) {
+            System.arraycopy(rows[1], 0, dp, 0, T + 1);
+        }
+    }
+
+    /**
+     * Runs every pass over one slice of capacities, waiting at the barrier after each.
+     */
+    private static void runSlice(GroupItems groupItems, int T, int[][] rows, long[] choice, int words,
+                                 int[] passes, int passCount, int firstWord, int sliceWords,
+                                 Phaser barrier, AtomicReference<Throwable> failure) {
+        int lo = Math.min(T + 1, firstWord * 64);
+        int hi = (int) Math.min(T, (long) (firstWord + sliceWords) * 64 - 1);
+        try {
+            for (int p = 0; p < passCount; p++) {
+                int[] from = rows[p & 1];
+                int[] to = rows[(p + 1) & 1];
+                int i = passes[p];
+                int w = groupItems.getWeight(i);
+                int v = groupItems.getValue(i);
+                int row = i * words;
+
+                int start = Math.max(lo, w);
+                if (start > lo) {
+                    System.arraycopy(from, lo, to, lo, Math.min(start, hi + 1) - lo);
+                }
+                for (int t = start; t <= hi; t++) {
+                    int old = from[t];
+                    int nv = from[t - w] + v;
+                    if (nv > old) {
+                        to[t] = nv;
+                        choice[row + (t >>> 6)] |= 1L << t;
+                    } else {
+                        to[t] = old;
+                    }
+                }
+                if (barrier.arriveAndAwaitAdvance() < 0) return; // Another slice failed
+            }
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+            barrier.forceTermination();
+        }
+    }
+}
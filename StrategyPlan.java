@@ -0,0 +1,91 @@
+/**
+ * The engine chosen for one group together with the planner's estimates, kept in
+ * the group's result so that estimates can be compared with real run times.
+ */
+public class StrategyPlan {
+    private final GroupStrategy strategy;
+    private final long estimatedOps;
+    private final long estimatedBytes;
+    private final boolean forced;
+    private final int pointLimit; // Frontier size at which PARETO_FRONTIER gives up
+    private final StrategyPlan fallback; // Run if this strategy gives up, or null
+    private final StrategyPlan abandoned; // The plan that gave up before this one, or null
+
+    /**
+     * Constructs a StrategyPlan.
+     *
+     * @param strategy The engine to run
+     * @param estimatedOps Estimated inner-loop steps (DP cells, frontier pairs or search nodes)
+     * @param estimatedBytes Estimated peak memory of the engine's tables
+     * @param forced Whether the strategy was set by the caller rather than chosen
+     * @param pointLimit Frontier size at which PARETO_FRONTIER gives up, unused otherwise
+     * @param fallback Plan to run if this one gives up, or null
+     */
+    public StrategyPlan(GroupStrategy strategy, long estimatedOps, long estimatedBytes,
+                        boolean forced, int pointLimit, StrategyPlan fallback) {
+        this(strategy, estimatedOps, estimatedBytes, forced, pointLimit, fallback, null);
+    }
+
+    private StrategyPlan(GroupStrategy strategy, long estimatedOps, long estimatedBytes,
+                         boolean forced, int pointLimit, StrategyPlan fallback, StrategyPlan abandoned) {
+        this.strategy = strategy;
+        this.estimatedOps = estimatedOps;
+        this.estimatedBytes = estimatedBytes;
+        this.forced = forced;
+        this.pointLimit = pointLimit;
+        this.fallback = fallback;
+        this.abandoned = abandoned;
+    }
+
+    public GroupStrategy getStrategy() {
+        return strategy;
+    }
+
+    public long getEstimatedOps() {
+        return estimatedOps;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public boolean isForced() {
+        return forced;
+    }
+
+    public int getPointLimit() {
+        return pointLimit;
+    }
+
+    public StrategyPlan getFallback() {
+        return fallback;
+    }
+
+    /**
+     * Returns the plan that gave up before this one ran, or null if this was the first choice.
+     */
+    public StrategyPlan getAbandoned() {
+        return abandoned;
+    }
+
+    /**
+     * Returns the fallback plan, marked as having run after this one gave up.
+     *
+     * @return The fallback with this plan recorded as abandoned
+     * @throws IllegalStateException If this plan has no fallback
+     */
+    public StrategyPlan fallBack() {
+        if (fallback == null) {
+            throw new IllegalStateException(strategy + " has no fallback");
+        }
+        return new StrategyPlan(fallback.strategy, fallback.estimatedOps, fallback.estimatedBytes,
+            fallback.forced, fallback.pointLimit, fallback.fallback, this);
+    }
+
+    @Override
+    public String toString() {
+        String plan = String.format("%s%s (est. %,d ops, %,d bytes)",
+            strategy, forced ? " [forced]" : "", estimatedOps, estimatedBytes);
+        return abandoned == null ? plan : abandoned.strategy + " gave up, then " + plan;
+    }
+}
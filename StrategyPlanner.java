@@ -0,0 +1,247 @@
+/**
+ * Chooses the classic engine for each group from a cost model.
+ * One pass over the group collects the item count, the largest weight, the value
+ * sum, the weight GCD and the exact loop lengths of the two table engines; from
+ * these it estimates the steps and peak memory of every engine. The cheapest exact engine
+ * whose tables fit the memory budget is chosen. When none fits, the dense DP in
+ * linear memory runs if it is estimated cheaper than the FPTAS (when approximate
+ * answers are allowed) or branch-and-bound (otherwise), and that engine runs if not;
+ * with an off-heap budget, the dense DP on memory-mapped tables is weighed the same way.
+ * The Pareto frontier's size is only estimated, so it is planned with a point
+ * limit: it gives up once it has done about as much work as the next engine would
+ * have, and that engine runs instead.
+ */
+public class StrategyPlanner {
+    // Peak table memory an engine may plan for; about 2e9 DP cells of choice bits
+    private static final long MAX_TABLE_BYTES = 250_000_000L;
+    // Smaller heaps get a quarter of the heap, leaving room for other groups' tables.
+    // Also bounds the memory of a running frontier, whose size is only estimated
+    static final long TABLE_BUDGET = Math.min(MAX_TABLE_BYTES, Runtime.getRuntime().maxMemory() / 4);
+    // Relative cost of one frontier pair (a merge step) against one DP cell
+    private static final int FRONTIER_PAIR_COST = 3;
+    private static final int MAX_FRONTIER_POINTS = 1 << 22;
+    // Bytes per frontier pair: two copies of weight, value and node, plus its history node
+    private static final int FRONTIER_PAIR_BYTES = 24;
+    private static final int FRONTIER_NODE_BYTES = 8;
+
+    private final int T;
+    private final long branchAndBoundNodeLimit; // 0 for no limit
+    private final double approximationEpsilon; // 0 unless approximate answers are allowed
+    private final long offHeapBudget; // Bytes of mapped tables allowed, 0 for none
+
+    /**
+     * Constructs a StrategyPlanner.
+     *
+     * @param T Time limit (capacity)
+     * @param branchAndBoundNodeLimit Node limit of branch-and-bound, or 0 for none
+     * @param approximationEpsilon Epsilon of the FPTAS, or 0 if only exact engines may be chosen
+     */
+    public StrategyPlanner(int T, long branchAndBoundNodeLimit, double approximationEpsilon) {
+        this(T, branchAndBoundNodeLimit, approximationEpsilon, 0);
+    }
+
+    /**
+     * Constructs a StrategyPlanner that may also plan memory-mapped tables.
+     *
+     * @param T Time limit (capacity)
+     * @param branchAndBoundNodeLimit Node limit of branch-and-bound, or 0 for none
+     * @param approximationEpsilon Epsilon of the FPTAS, or 0 if only exact engines may be chosen
+     * @param offHeapBudget Bytes of memory-mapped tables a group may use, or 0 for none
+     */
+    public StrategyPlanner(int T, long branchAndBoundNodeLimit, double approximationEpsilon, long offHeapBudget) {
+        this.T = T;
+        this.branchAndBoundNodeLimit = branchAndBoundNodeLimit;
+        this.approximationEpsilon = approximationEpsilon;
+        this.offHeapBudget = offHeapBudget;
+    }
+
+    /**
+     * Plans one group.
+     * Time Complexity: O(m)
+     * Space Complexity: O(1)
+     *
+     * @param groupItems Items in this group
+     * @param strategy AUTO to choose, or the strategy to use regardless of cost
+     * @return The plan, with estimates for the strategy that will run
+     */
+    public StrategyPlan plan(GroupItems groupItems, GroupStrategy strategy) {
+        Features f = new Features(groupItems, T);
+        StrategyPlan dense = new StrategyPlan(GroupStrategy.DENSE_DP, f.denseOps,
+            tableBytes(T, f.m), strategy != GroupStrategy.AUTO, 0, null);
+
+        switch (strategy) {
+            case DENSE_DP:
+                return dense;
+            case DENSE_DP_LINEAR:
+                return denseLinear(f, true);
+            case DENSE_DP_MAPPED:
+                return denseMapped(f, true);
+            case VALUE_DP:
+                return new StrategyPlan(GroupStrategy.VALUE_DP, f.valueOps, tableBytes(f.valueSum, f.m), true, 0, null);
+            case BRANCH_AND_BOUND:
+                return branchAndBound(f, true);
+            case FPTAS:
+                return fptas(f, true);
+            case PARETO_FRONTIER:
+                // A forced frontier may grow to the hard limit before falling back, to
+                // the engine that would have been chosen without it: one that fits
+                StrategyPlan chosen = plan(groupItems, GroupStrategy.AUTO);
+                return frontier(f, true, MAX_FRONTIER_POINTS,
+                    chosen.getStrategy() == GroupStrategy.PARETO_FRONTIER ? chosen.getFallback() : chosen);
+            default:
+                break;
+        }
+
+        // The cheapest exact table engine that fits
+        StrategyPlan best = null;
+        StrategyPlan[] tables = {
+            dense,
+            f.valueSum < Integer.MAX_VALUE
+                ? new StrategyPlan(GroupStrategy.VALUE_DP, f.valueOps, tableBytes(f.valueSum, f.m), false, 0, null)
+                : null
+        };
+        for (StrategyPlan candidate : tables) {
+            if (candidate == null || candidate.getEstimatedBytes() > TABLE_BUDGET) continue;
+            if (best == null || cheaper(candidate, best)) best = candidate;
+        }
+        StrategyPlan noTable = approximationEpsilon > 0 ? fptas(f, false) : branchAndBound(f, false);
+        // Without choice bits the dense DP still fits, at about three times the work
+        StrategyPlan linear = denseLinear(f, false);
+        if (best == null && linear.getEstimatedBytes() <= TABLE_BUDGET && cheaper(linear, noTable)) {
+            noTable = linear;
+        }
+        // Mapped tables are limited by disk space instead of the heap
+        StrategyPlan mapped = denseMapped(f, false);
+        if (best == null && offHeapBudget > 0 && mapped.getEstimatedBytes() <= offHeapBudget
+                && cheaper(mapped, noTable)) {
+            noTable = mapped;
+        }
+        StrategyPlan fallback = best != null ? best : noTable;
+
+        // The frontier gives up after doing as much work as its fallback would
+        long frontierPairs = f.frontierEstimate();
+        long budgetPoints = Math.min(fallback.getEstimatedOps() / ((long) FRONTIER_PAIR_COST * Math.max(1, f.n)),
+            TABLE_BUDGET / FRONTIER_PAIR_BYTES);
+        int limit = (int) Math.min(MAX_FRONTIER_POINTS, Math.max(frontierPairs, budgetPoints));
+        StrategyPlan frontier = frontier(f, false, limit, fallback);
+        if (frontier.getEstimatedBytes() <= TABLE_BUDGET && frontierPairs <= limit
+                && (best == null || cheaper(frontier, best))) {
+            return frontier;
+        }
+        return fallback;
+    }
+
+    private StrategyPlan frontier(Features f, boolean forced, int limit, StrategyPlan fallback) {
+        long pairs = f.frontierEstimate();
+        long ops = saturatingMultiply((long) FRONTIER_PAIR_COST * f.n, pairs);
+        long bytes = saturatingMultiply(FRONTIER_PAIR_BYTES + (long) FRONTIER_NODE_BYTES * f.n, pairs);
+        return new StrategyPlan(GroupStrategy.PARETO_FRONTIER, ops, bytes, forced, limit, fallback);
+    }
+
+    private StrategyPlan denseLinear(Features f, boolean forced) {
+        // One pass for the optimum and about two more to rebuild the selection; the
+        // rows of the two halves, and a leaf with as many words of choice bits
+        long bytes = 20 * ((long) T + 1) + 5L * f.m;
+        return new StrategyPlan(GroupStrategy.DENSE_DP_LINEAR, saturatingMultiply(3, f.denseOps),
+            bytes, forced, 0, null);
+    }
+
+    private StrategyPlan denseMapped(Features f, boolean forced) {
+        // Every cell goes through a scratch copy; bytes are those of the mapped files
+        return new StrategyPlan(GroupStrategy.DENSE_DP_MAPPED, saturatingMultiply(2, f.denseOps),
+            tableBytes(T, f.m), forced, 0, null);
+    }
+
+    private StrategyPlan branchAndBound(Features f, boolean forced) {
+        // The search is bounded by its node limit; each node costs a binary search
+        long nodes = branchAndBoundNodeLimit > 0
+            ? branchAndBoundNodeLimit
+            : f.n < 62 ? 1L << f.n : Long.MAX_VALUE;
+        long log = 64 - Long.numberOfLeadingZeros(f.n + 1L);
+        return new StrategyPlan(GroupStrategy.BRANCH_AND_BOUND, saturatingMultiply(nodes, log),
+            40L * f.m, forced, 0, null);
+    }
+
+    private StrategyPlan fptas(Features f, boolean forced) {
+        // The scaled table is about 2n / epsilon wide, and never more than the
+        // solver's cell cap
+        double epsilon = approximationEpsilon > 0 ? approximationEpsilon : 0.01;
+        long width = (long) Math.min(2.0 * f.n / epsilon, f.valueSum);
+        width = Math.min(width, ApproximationSolver.MAX_TABLE_CELLS / Math.max(1, f.n));
+        return new StrategyPlan(GroupStrategy.FPTAS, saturatingMultiply(f.n, width),
+            tableBytes(width, f.n), forced, 0, null);
+    }
+
+    private static boolean cheaper(StrategyPlan a, StrategyPlan b) {
+        return a.getEstimatedOps() < b.getEstimatedOps()
+            || a.getEstimatedOps() == b.getEstimatedOps() && a.getEstimatedBytes() < b.getEstimatedBytes();
+    }
+
+    /**
+     * Bytes of a DP row of the given width plus one row of choice bits per item.
+     */
+    private static long tableBytes(long width, int m) {
+        return 4 * (width + 1) + saturatingMultiply(8L * m, (width >>> 6) + 1);
+    }
+
+    private static long saturatingMultiply(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        return high == 0 && low >= 0 ? low : Long.MAX_VALUE;
+    }
+
+    /**
+     * What the planner knows about a group, from one pass over its items.
+     */
+    private static final class Features {
+        private final int T;
+        private final int m; // All items, each gets a row of choice bits
+        private int n; // Items that fit under T
+        private long valueSum; // Of the items that fit, positive values only
+        private long denseOps; // Cells the dense DP visits
+        private long valueOps; // Cells the value-indexed DP visits
+        private int maxWeight;
+        private int weightGcd;
+
+        Features(GroupItems groupItems, int T) {
+            this.T = T;
+            this.m = groupItems.size();
+            for (int i = 0; i < m; i++) {
+                int w = groupItems.getWeight(i);
+                int v = groupItems.getValue(i);
+                if (w > T) continue;
+                n++;
+                denseOps += T - w + 1;
+                if (v > 0) { // The value DP skips the rest
+                    valueSum += v;
+                    valueOps += valueSum - v + 1;
+                }
+                maxWeight = Math.max(maxWeight, w);
+                weightGcd = gcd(weightGcd, w);
+            }
+        }
+
+        /**
+         * Expected frontier size. For scattered weights it grows about as n^2, and it
+         * can never exceed the number of distinct reachable weights (multiples of the
+         * weight GCD up to min(T, n * maxWeight)), distinct values, or subsets.
+         */
+        long frontierEstimate() {
+            long estimate = (long) n * n + 1;
+            long weightSpan = Math.min(T, (long) n * maxWeight);
+            estimate = Math.min(estimate, weightSpan / Math.max(1, weightGcd) + 1);
+            estimate = Math.min(estimate, valueSum + 1);
+            if (n < 62) estimate = Math.min(estimate, 1L << n);
+            return Math.max(1, estimate);
+        }
+
+        private static int gcd(int a, int b) {
+            while (b != 0) {
+                int r = a % b;
+                a = b;
+                b = r;
+            }
+            return a;
+        }
+    }
+}
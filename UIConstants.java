@@ -34,7 +34,7 @@ public class UIConstants {
     public static final Dimension WINDOW_MIN_SIZE = new Dimension(1200, 800);
     public static final Dimension HEADER_SIZE = new Dimension(800, 80);
     public static final Dimension LEFT_PANEL_SIZE = new Dimension(450, 650);
-    public static final Dimension PARAMETERS_PANEL_SIZE = new Dimension(420, 160);
+    public static final Dimension PARAMETERS_PANEL_SIZE = new Dimension(420, 240);
     public static final Dimension CONTROL_PANEL_SIZE = new Dimension(420, 210);
     public static final Dimension BUTTON_SIZE = new Dimension(400, 42);
     public static final Dimension TEXTFIELD_SIZE = new Dimension(140, 32);
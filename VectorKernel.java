@@ -0,0 +1,70 @@
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Classic 0/1 DP item pass built on the incubating Vector API.
+ * Only loaded when the jdk.incubator.vector module is present (run with
+ * --add-modules jdk.incubator.vector); otherwise the solver keeps its scalar loop.
+ */
+final class VectorKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private VectorKernel() {
+    }
+
+    /**
+     * Applies one item to the DP row: dp[t] = max(dp[t], dp[t - w] + v) for t in [w, T],
+     * setting the item's choice bit for every t that improves.
+     * Capacities are processed in descending blocks of one vector. Every load of
+     * dp[t - w] in a block happens before that block is stored, and lower blocks are
+     * still untouched, so each lane reads the pre-item value exactly like the scalar
+     * descending loop and the resulting dp values are identical.
+     * Time Complexity: O(T / L) vector steps where L is the lane count
+     * Space Complexity: O(1)
+     * 
+     * @param dp The DP row, updated in place
+     * @param choice Packed choice bits
+     * @param row Offset of this item's row of words in choice
+     * @param T Time limit
+     * @param w Base weight of the item
+     * @param v Value of the item
+     */
+    static void relax(int[] dp, long[] choice, int row, int T, int w, int v) {
+        int lanes = SPECIES.length();
+        int t0 = T - lanes + 1;
+        for (; t0 >= w; t0 -= lanes) {
+            IntVector current = IntVector.fromArray(SPECIES, dp, t0);
+            IntVector candidate = IntVector.fromArray(SPECIES, dp, t0 - w).add(v);
+            VectorMask<Integer> improved = candidate.compare(VectorOperators.GT, current);
+            if (improved.anyTrue()) {
+                current.max(candidate).intoArray(dp, t0);
+                setBits(choice, row, t0, improved.toLong());
+            }
+        }
+
+        // Scalar tail for the capacities below the last full block
+        for (int t = t0 + lanes - 1; t >= w; t--) {
+            int nv = dp[t - w] + v;
+            if (nv > dp[t]) {
+                dp[t] = nv;
+                choice[row + (t >>> 6)] |= 1L << t;
+            }
+        }
+    }
+
+    /**
+     * ORs a lane mask into the choice bits starting at capacity t0.
+     * The mask may straddle two words.
+     */
+    private static void setBits(long[] choice, int row, int t0, long bits) {
+        int word = row + (t0 >>> 6);
+        int shift = t0 & 63;
+        choice[word] |= bits << shift;
+        if (shift != 0) {
+            long spill = bits >>> (64 - shift);
+            if (spill != 0) choice[word + 1] |= spill;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package benchmarks;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+
+/**
+ * Calls into the solver classes, which live in the default package.
+ * Java code in a named package cannot reference default-package types, and JMH
+ * refuses benchmarks in the default package, so every entry point is bound once
+ * to a static final MethodHandle. The JIT treats those as constants and inlines
+ * through them, so the bridge adds no measurable cost to the benchmarked work.
+ */
+final class Bridge {
+    private static final MethodHandle NEW_TABLE;
+    private static final MethodHandle TABLE_ADD;
+    private static final MethodHandle NEW_SOLVER;
+    private static final MethodHandle SET_MODE;
+    private static final MethodHandle SET_PARALLEL;
+    private static final MethodHandle SET_VECTORIZED;
+    private static final MethodHandle SOLVE;
+    private static final MethodHandle SOLVE_CLASSIC_GROUP;
+    private static final MethodHandle NEW_PARTITION;
+    private static final MethodHandle PARTITION_GROUP;
+    private static final MethodHandle NEW_FILE_READER;
+    private static final MethodHandle NEW_STREAM_READER;
+    private static final MethodHandle READ_SOLVER;
+    private static final MethodHandle FORMAT;
+    private static final MethodHandle MODE_OF;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Class<?> table = Class.forName("ItemTable");
+            Class<?> groupItems = Class.forName("GroupItems");
+            Class<?> solver = Class.forName("KnapsackSolver");
+            Class<?> mode = Class.forName("SolverMode");
+            Class<?> result = Class.forName("SolverResult");
+            Class<?> partition = Class.forName("GroupPartition");
+            Class<?> reader = Class.forName("FastReader");
+            Class<?> main = Class.forName("Main");
+            Class<?> formatter = Class.forName("ResultFormatter");
+
+            NEW_TABLE = generic(lookup.findConstructor(table,
+                MethodType.methodType(void.class, int.class)));
+            TABLE_ADD = generic(lookup.findVirtual(table, "add",
+                MethodType.methodType(void.class, int.class, int.class, int.class)));
+            NEW_SOLVER = generic(lookup.findConstructor(solver,
+                MethodType.methodType(void.class, int.class, int.class, int.class, table)));
+            SET_MODE = generic(lookup.findVirtual(solver, "setMode",
+                MethodType.methodType(void.class, mode)));
+            SET_PARALLEL = generic(lookup.findVirtual(solver, "setParallel",
+                MethodType.methodType(void.class, boolean.class)));
+            SET_VECTORIZED = generic(lookup.findVirtual(solver, "setVectorized",
+                MethodType.methodType(void.class, boolean.class)));
+            SOLVE = generic(lookup.findVirtual(solver, "solve", MethodType.methodType(result)));
+
+            // solveClassicGroup is private; the classpath places both sides in the
+            // unnamed module, so reflective access is permitted.
+            Method classic = solver.getDeclaredMethod("solveClassicGroup", groupItems, int.class);
+            classic.setAccessible(true);
+            SOLVE_CLASSIC_GROUP = generic(lookup.unreflect(classic));
+
+            NEW_PARTITION = generic(lookup.findConstructor(partition,
+                MethodType.methodType(void.class, int.class, table)));
+            PARTITION_GROUP = generic(lookup.findVirtual(partition, "group",
+                MethodType.methodType(groupItems, int.class)));
+
+            NEW_FILE_READER = generic(lookup.findConstructor(reader,
+                MethodType.methodType(void.class, Path.class)));
+            NEW_STREAM_READER = generic(lookup.findConstructor(reader,
+                MethodType.methodType(void.class, InputStream.class)));
+            READ_SOLVER = generic(lookup.findStatic(main, "readSolver",
+                MethodType.methodType(solver, reader)));
+            FORMAT = generic(lookup.findStatic(formatter, "format",
+                MethodType.methodType(String.class, result)));
+            MODE_OF = generic(lookup.findStatic(mode, "valueOf",
+                MethodType.methodType(mode, String.class)));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Bridge() {
+    }
+
+    /**
+     * Erases every reference type in the handle to Object so call sites can use
+     * invokeExact without naming default-package types.
+     */
+    private static MethodHandle generic(MethodHandle handle) {
+        MethodType type = handle.type();
+        for (int i = 0; i < type.parameterCount(); i++) {
+            if (!type.parameterType(i).isPrimitive()) {
+                type = type.changeParameterType(i, Object.class);
+            }
+        }
+        if (!type.returnType().isPrimitive()) {
+            type = type.changeReturnType(Object.class);
+        }
+        return handle.asType(type);
+    }
+
+    static Object items(Instance instance) {
+        try {
+            Object items = (Object) NEW_TABLE.invokeExact(instance.n);
+            for (int i = 0; i < instance.n; i++) {
+                TABLE_ADD.invokeExact(items, instance.values[i], instance.weights[i], instance.groupOf[i]);
+            }
+            return items;
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static Object solver(Instance instance, Object items, String mode,
+                         boolean parallel, boolean vector) {
+        try {
+            Object solver = (Object) NEW_SOLVER.invokeExact(
+                instance.groups, instance.capacity, instance.rate, items);
+            SET_MODE.invokeExact(solver, (Object) MODE_OF.invokeExact((Object) mode));
+            SET_PARALLEL.invokeExact(solver, parallel);
+            SET_VECTORIZED.invokeExact(solver, vector);
+            return solver;
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static Object solve(Object solver) {
+        try {
+            return (Object) SOLVE.invokeExact(solver);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static Object group(int groups, Object items, int group) {
+        try {
+            Object partition = (Object) NEW_PARTITION.invokeExact(groups, items);
+            return (Object) PARTITION_GROUP.invokeExact(partition, group);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static Object solveClassicGroup(Object solver, Object groupItems, int capacity) {
+        try {
+            return (Object) SOLVE_CLASSIC_GROUP.invokeExact(solver, groupItems, capacity);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static Object readSolver(Path path) throws IOException {
+        try {
+            Object reader = (Object) NEW_FILE_READER.invokeExact((Object) path);
+            try (Closeable ignored = (Closeable) reader) {
+                return (Object) READ_SOLVER.invokeExact(reader);
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static Object readSolver(InputStream in) throws IOException {
+        try {
+            Object reader = (Object) NEW_STREAM_READER.invokeExact((Object) in);
+            try (Closeable ignored = (Closeable) reader) {
+                return (Object) READ_SOLVER.invokeExact(reader);
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static String format(Object result) {
+        try {
+            return (String) (Object) FORMAT.invokeExact(result);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) return (RuntimeException) t;
+        if (t instanceof Error) throw (Error) t;
+        return new IllegalStateException(t);
+    }
+}
@@ -0,0 +1,55 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The single-group classic DP kernel, without partitioning or scheduling.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class ClassicGroupBenchmark {
+    @Param({"100", "1000"})
+    public int m;
+
+    @Param({"1000", "10000", "100000"})
+    public int t;
+
+    @Param({"UNCORRELATED", "WEAKLY_CORRELATED", "STRONGLY_CORRELATED", "SUBSET_SUM"})
+    public Distribution distribution;
+
+    @Param({"false", "true"})
+    public boolean vector;
+
+    private Object solver;
+    private Object groupItems;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Instance instance = Instance.generate(m, 1, t, 0, distribution, 42);
+        Object items = Bridge.items(instance);
+        solver = Bridge.solver(instance, items, "CLASSIC", false, vector);
+        groupItems = Bridge.group(1, items, 0);
+    }
+
+    @Benchmark
+    public Object solveClassicGroup() {
+        return Bridge.solveClassicGroup(solver, groupItems, t);
+    }
+}
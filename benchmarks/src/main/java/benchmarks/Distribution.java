@@ -0,0 +1,41 @@
+package benchmarks;
+
+import java.util.SplittableRandom;
+
+/**
+ * Classic knapsack item distributions used to generate benchmark instances.
+ * Weights are uniform in [1, range]; values depend on the distribution.
+ */
+public enum Distribution {
+    /** Value and weight drawn independently. */
+    UNCORRELATED {
+        @Override
+        int value(int weight, int range, SplittableRandom random) {
+            return 1 + random.nextInt(range);
+        }
+    },
+    /** Value within range / 10 of the weight. */
+    WEAKLY_CORRELATED {
+        @Override
+        int value(int weight, int range, SplittableRandom random) {
+            int spread = Math.max(1, range / 10);
+            return Math.max(1, weight - spread + random.nextInt(2 * spread + 1));
+        }
+    },
+    /** Value is the weight plus a fixed range / 10. */
+    STRONGLY_CORRELATED {
+        @Override
+        int value(int weight, int range, SplittableRandom random) {
+            return weight + Math.max(1, range / 10);
+        }
+    },
+    /** Value equals weight, so every capacity is a plateau-free subset-sum target. */
+    SUBSET_SUM {
+        @Override
+        int value(int weight, int range, SplittableRandom random) {
+            return weight;
+        }
+    };
+
+    abstract int value(int weight, int range, SplittableRandom random);
+}
@@ -0,0 +1,53 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ResultFormatter.format over a solved instance.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatterBenchmark {
+    @Param({"1000", "10000"})
+    public int n;
+
+    @Param({"10", "100"})
+    public int g;
+
+    @Param({"1000"})
+    public int t;
+
+    @Param({"UNCORRELATED"})
+    public Distribution distribution;
+
+    private Object result;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Instance instance = Instance.generate(n, g, t, 0, distribution, 42);
+        Object items = Bridge.items(instance);
+        result = Bridge.solve(Bridge.solver(instance, items, "CLASSIC", false, false));
+    }
+
+    @Benchmark
+    public String format() {
+        return Bridge.format(result);
+    }
+}
@@ -0,0 +1,69 @@
+package benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Main's input path: parsing an instance from a mapped file or from a stream.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InputBenchmark {
+    @Param({"100000", "1000000"})
+    public int n;
+
+    @Param({"100"})
+    public int g;
+
+    @Param({"10000"})
+    public int t;
+
+    @Param({"UNCORRELATED"})
+    public Distribution distribution;
+
+    private byte[] input;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        input = Instance.generate(n, g, t, 0, distribution, 42).toInputBytes();
+        file = Files.createTempFile("knapsack-input", ".txt");
+        Files.write(file, input);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Object readFile() throws IOException {
+        return Bridge.readSolver(file);
+    }
+
+    @Benchmark
+    public Object readStream() throws IOException {
+        return Bridge.readSolver(new ByteArrayInputStream(input));
+    }
+}
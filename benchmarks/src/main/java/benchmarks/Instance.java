@@ -0,0 +1,58 @@
+package benchmarks;
+
+import java.util.SplittableRandom;
+
+/**
+ * A generated "N G T R" instance held as plain arrays.
+ */
+final class Instance {
+    final int n;
+    final int groups;
+    final int capacity;
+    final int rate;
+    final int[] values;
+    final int[] weights;
+    final int[] groupOf;
+
+    private Instance(int n, int groups, int capacity, int rate) {
+        this.n = n;
+        this.groups = groups;
+        this.capacity = capacity;
+        this.rate = rate;
+        this.values = new int[n];
+        this.weights = new int[n];
+        this.groupOf = new int[n];
+    }
+
+    /**
+     * Generates a reproducible instance. Weights are drawn from [1, T / 10] so
+     * that a group selection holds roughly ten items or more.
+     */
+    static Instance generate(int n, int groups, int capacity, int rate,
+                             Distribution distribution, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Instance instance = new Instance(n, groups, capacity, rate);
+        int range = Math.max(1, capacity / 10);
+        for (int i = 0; i < n; i++) {
+            int w = 1 + random.nextInt(range);
+            instance.weights[i] = w;
+            instance.values[i] = distribution.value(w, range, random);
+            instance.groupOf[i] = random.nextInt(groups);
+        }
+        return instance;
+    }
+
+    /**
+     * Renders the instance in the text format Main reads.
+     */
+    byte[] toInputBytes() {
+        StringBuilder sb = new StringBuilder(n * 16);
+        sb.append(n).append(' ').append(groups).append(' ')
+          .append(capacity).append(' ').append(rate).append('\n');
+        for (int i = 0; i < n; i++) {
+            sb.append(values[i]).append(' ').append(weights[i]).append(' ')
+              .append(groupOf[i]).append('\n');
+        }
+        return sb.toString().getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+    }
+}
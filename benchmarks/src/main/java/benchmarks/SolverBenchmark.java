@@ -0,0 +1,65 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end KnapsackSolver.solve() across instance shapes and solver modes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class SolverBenchmark {
+    @Param({"1000", "10000"})
+    public int n;
+
+    @Param({"1", "16"})
+    public int g;
+
+    @Param({"1000", "10000"})
+    public int t;
+
+    @Param({"UNCORRELATED", "WEAKLY_CORRELATED", "STRONGLY_CORRELATED", "SUBSET_SUM"})
+    public Distribution distribution;
+
+    @Param({"CLASSIC"})
+    public String mode;
+
+    @Param({"0"})
+    public int r;
+
+    @Param({"false"})
+    public boolean parallel;
+
+    @Param({"false"})
+    public boolean vector;
+
+    private Object solver;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Instance instance = Instance.generate(n, g, t, r, distribution, 42);
+        Object items = Bridge.items(instance);
+        solver = Bridge.solver(instance, items, mode, parallel, vector);
+    }
+
+    @Benchmark
+    public Object solve() {
+        return Bridge.solve(solver);
+    }
+}
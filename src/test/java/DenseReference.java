@@ -0,0 +1,79 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Random classic groups and the plain dense DP the engines are checked against:
+ * the best value within T, reached at the smallest capacity.
+ */
+final class DenseReference {
+    private DenseReference() {
+    }
+
+    /**
+     * A group of m items with values in 1..maxValue and weights in 1..maxWeight.
+     */
+    static GroupItems randomGroup(Random random, int groupIndex, int m, int maxValue, int maxWeight) {
+        int[] values = new int[m];
+        int[] weights = new int[m];
+        for (int i = 0; i < m; i++) {
+            values[i] = 1 + random.nextInt(maxValue);
+            weights[i] = 1 + random.nextInt(maxWeight);
+        }
+        return new GroupItems(groupIndex, values, weights, 0, m);
+    }
+
+    /**
+     * Best value of the items within capacity T and the smallest capacity reaching it.
+     *
+     * @return {best value, smallest weight}
+     */
+    static long[] optimum(int[] values, int[] weights, int T) {
+        long[] dp = new long[T + 1];
+        for (int i = 0; i < values.length; i++) {
+            for (int t = T; t >= weights[i]; t--) {
+                dp[t] = Math.max(dp[t], dp[t - weights[i]] + values[i]);
+            }
+        }
+        int t = 0;
+        while (dp[t] < dp[T]) t++;
+        return new long[] {dp[T], t};
+    }
+
+    static long[] optimum(GroupItems groupItems, int T) {
+        int[] values = new int[groupItems.size()];
+        int[] weights = new int[groupItems.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = groupItems.getValue(i);
+            weights[i] = groupItems.getWeight(i);
+        }
+        return optimum(values, weights, T);
+    }
+
+    /**
+     * Checks a classic result against the reference optimum and that its items
+     * add up to the value and weight it reports.
+     */
+    static void assertOptimal(GroupItems groupItems, int T, GroupResult result) {
+        long[] expected = optimum(groupItems, T);
+        assertEquals(expected[0], result.getMaxValue(), "value");
+        assertEquals(expected[1], result.getDynamicTimeUsed(), "smallest weight");
+        assertSelection(result);
+    }
+
+    static void assertSelection(GroupResult result) {
+        ArrayList<Item> selected = result.getSelectedItems();
+        long value = 0;
+        long weight = 0;
+        for (Item item : selected) {
+            value += item.getValue();
+            weight += item.getBaseWeight();
+        }
+        assertEquals(result.getItemsSelected(), selected.size(), "item count");
+        assertEquals(result.getMaxValue(), value, "selected value");
+        assertEquals(result.getDynamicTimeUsed(), weight, "selected weight");
+        assertTrue(result.isExact());
+    }
+}
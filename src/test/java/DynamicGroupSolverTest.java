@@ -0,0 +1,47 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DynamicGroupSolverTest {
+
+    /**
+     * With T = 9 and R = 1, {0} is worth 10 in 6 + 1 = 7 time and {1, 2} is worth
+     * 10 in 1 + 2 + 1 + 1 = 5; no other feasible selection is worth more. The one
+     * item comes first in (count, weight) order, so only a tie-break on dynamic
+     * time picks the pair.
+     */
+    @Test
+    void equalValuesPreferLessDynamicTime() {
+        GroupItems group = new GroupItems(0, new int[] {10, 5, 5}, new int[] {6, 1, 1}, 0, 3);
+
+        GroupResult result = new DynamicGroupSolver(9, 1).solve(group);
+
+        assertEquals(10, result.getMaxValue());
+        assertEquals(5, result.getDynamicTimeUsed());
+        assertEquals(2, result.getItemsSelected());
+        assertEquals(List.of(5, 5), values(result.getSelectedItems()));
+    }
+
+    /**
+     * {0} and {1, 2} are both worth 6 in 5 time (4 + 1 against 1 + 1 + 1 + 2), so
+     * the selection with fewer items is kept.
+     */
+    @Test
+    void equalTimesPreferFewerItems() {
+        GroupItems group = new GroupItems(0, new int[] {6, 3, 3}, new int[] {4, 1, 1}, 0, 3);
+
+        GroupResult result = new DynamicGroupSolver(5, 1).solve(group);
+
+        assertEquals(6, result.getMaxValue());
+        assertEquals(5, result.getDynamicTimeUsed());
+        assertEquals(1, result.getItemsSelected());
+    }
+
+    private static List<Integer> values(ArrayList<Item> items) {
+        List<Integer> values = new ArrayList<>();
+        for (Item item : items) values.add(item.getValue());
+        return values;
+    }
+}
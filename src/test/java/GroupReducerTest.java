@@ -0,0 +1,45 @@
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class GroupReducerTest {
+
+    /**
+     * Groups built to trigger every rule: repeated items for the bundles, a common
+     * weight factor for the GCD, worthless and too-heavy items, and few distinct
+     * weights so that many items are dominated. The reduced solve must still reach
+     * the dense optimum at the same smallest weight, with original items.
+     */
+    @Test
+    void reducedSolveMatchesDenseOptimumOnRandomGroups() {
+        Random random = new Random(20);
+        for (int round = 0; round < 300; round++) {
+            int T = 1 + random.nextInt(3000);
+            int m = 1 + random.nextInt(60);
+            int factor = 1 + random.nextInt(round % 3 == 0 ? 12 : 1);
+            int distinct = 1 + random.nextInt(8);
+            int[] baseValues = new int[distinct];
+            int[] baseWeights = new int[distinct];
+            for (int k = 0; k < distinct; k++) {
+                baseValues[k] = random.nextInt(50);
+                baseWeights[k] = factor * (1 + random.nextInt(Math.max(1, T / factor / 3 + 1)));
+            }
+            int[] values = new int[m];
+            int[] weights = new int[m];
+            for (int i = 0; i < m; i++) {
+                int k = random.nextInt(distinct);
+                boolean repeat = random.nextInt(3) > 0;
+                values[i] = repeat ? baseValues[k] : random.nextInt(50);
+                weights[i] = repeat ? baseWeights[k] : factor * (1 + random.nextInt(T / factor + 2));
+            }
+            GroupItems group = new GroupItems(0, values, weights, 0, m);
+
+            ItemTable items = new ItemTable();
+            for (int i = 0; i < m; i++) items.add(values[i], weights[i], 0);
+            KnapsackSolver solver = new KnapsackSolver(1, T, 0, items);
+            solver.setStrategy(GroupStrategy.DENSE_DP);
+            solver.setReduction(true);
+
+            DenseReference.assertOptimal(group, T, solver.solve().getGroupResults().get(0));
+        }
+    }
+}
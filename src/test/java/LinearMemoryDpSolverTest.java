@@ -0,0 +1,21 @@
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LinearMemoryDpSolverTest {
+
+    /**
+     * Groups from a handful of items, solved directly with choice bits, to a few
+     * hundred, rebuilt over several levels of halving.
+     */
+    @Test
+    void matchesDenseOptimumOnRandomGroups() {
+        Random random = new Random(22);
+        for (int round = 0; round < 300; round++) {
+            int T = 1 + random.nextInt(2000);
+            int m = 1 + random.nextInt(round % 3 == 0 ? 400 : 20);
+            GroupItems group = DenseReference.randomGroup(random, 0, m, 1 + random.nextInt(100), 1 + random.nextInt(T + 10));
+
+            DenseReference.assertOptimal(group, T, new LinearMemoryDpSolver(T).solve(group));
+        }
+    }
+}
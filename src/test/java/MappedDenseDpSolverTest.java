@@ -0,0 +1,28 @@
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedDenseDpSolverTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Capacities below, at and well past one 64K block, so items are applied across
+     * block boundaries and the choice bits span several blocks.
+     */
+    @Test
+    void matchesDenseOptimumOnRandomGroups() {
+        Random random = new Random(23);
+        int[] capacities = {1, 63, 64, 1000, 65_535, 65_536, 65_537, 200_000};
+        for (int T : capacities) {
+            for (int round = 0; round < 4; round++) {
+                int m = 1 + random.nextInt(25);
+                GroupItems group = DenseReference.randomGroup(random, 0, m, 1 + random.nextInt(1000), 1 + random.nextInt(T + 10));
+
+                DenseReference.assertOptimal(group, T, new MappedDenseDpSolver(T, directory).solve(group));
+            }
+        }
+    }
+}
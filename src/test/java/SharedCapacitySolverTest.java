@@ -0,0 +1,67 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class SharedCapacitySolverTest {
+
+    /**
+     * Groups sharing one T are the same as one knapsack over all their items, so
+     * the merged total must equal the dense optimum of the union. Some groups have
+     * only unit weights, whose profiles are concave, so every merge method runs:
+     * the monotone split, step pairs and item passes.
+     */
+    @Test
+    void mergedTotalMatchesDenseOptimumOfAllItems() {
+        Random random = new Random(17);
+        for (int round = 0; round < 200; round++) {
+            int G = 1 + random.nextInt(5);
+            int T = 1 + random.nextInt(round % 2 == 0 ? 60 : 800);
+            ItemTable items = new ItemTable();
+            for (int g = 0; g < G; g++) {
+                boolean unitWeights = random.nextInt(3) == 0;
+                int m = random.nextInt(round % 4 == 0 ? 40 : 8);
+                for (int i = 0; i < m; i++) {
+                    int w = unitWeights ? 1 : 1 + random.nextInt(T + 5);
+                    items.add(1 + random.nextInt(100), w, g);
+                }
+            }
+            int[] values = new int[items.size()];
+            int[] weights = new int[items.size()];
+            for (int i = 0; i < items.size(); i++) {
+                values[i] = items.getValue(i);
+                weights[i] = items.getWeight(i);
+            }
+
+            KnapsackSolver solver = new KnapsackSolver(G, T, 0, items);
+            solver.setMode(SolverMode.SHARED);
+            SolverResult result = solver.solve();
+
+            assertEquals(DenseReference.optimum(values, weights, T)[0], result.getMaxValue(), "round " + round);
+            long weight = 0;
+            long value = 0;
+            for (GroupResult groupResult : result.getGroupResults()) {
+                DenseReference.assertSelection(groupResult);
+                weight += groupResult.getDynamicTimeUsed();
+                value += groupResult.getMaxValue();
+            }
+            assertTrue(weight <= T, "shares fit in T");
+            assertEquals(result.getMaxValue(), value, "shares add up to the total");
+        }
+    }
+
+    /**
+     * The total of two groups worth 1.5e9 each does not fit in an int.
+     */
+    @Test
+    void totalsBeyondIntRange() {
+        ItemTable items = new ItemTable();
+        items.add(1_500_000_000, 1, 0);
+        items.add(1_500_000_000, 1, 1);
+        KnapsackSolver solver = new KnapsackSolver(2, 10, 0, items);
+        solver.setMode(SolverMode.SHARED);
+
+        assertEquals(3_000_000_000L, solver.solve().getMaxValue());
+    }
+}
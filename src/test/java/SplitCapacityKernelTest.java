@@ -0,0 +1,65 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class SplitCapacityKernelTest {
+
+    /**
+     * The split passes must leave exactly the row and choice bits of the
+     * sequential in-place loop, for every thread count the solver may use.
+     */
+    @Test
+    void matchesSequentialPassesOnRandomGroups() {
+        Random random = new Random(21);
+        for (int threads = 2; threads <= 7; threads++) {
+            for (int round = 0; round < 2; round++) {
+                int T = threads * SplitCapacityKernel.MIN_WORDS_PER_THREAD * 64 + random.nextInt(100_000);
+                int m = 5 + random.nextInt(30);
+                GroupItems group = DenseReference.randomGroup(random, 0, m, 1000, T / 4 + T * round);
+                int words = (T >>> 6) + 1;
+
+                int[] dp = new int[T + 1];
+                long[] choice = new long[m * words];
+                for (int i = 0; i < m; i++) {
+                    int w = group.getWeight(i);
+                    int v = group.getValue(i);
+                    for (int t = T; t >= w; t--) {
+                        if (dp[t - w] + v > dp[t]) {
+                            dp[t] = dp[t - w] + v;
+                            choice[i * words + (t >>> 6)] |= 1L << t;
+                        }
+                    }
+                }
+
+                int[] splitDp = new int[T + 1];
+                long[] splitChoice = new long[m * words];
+                SplitCapacityKernel.fill(group, T, splitDp, splitChoice, words, threads);
+
+                assertArrayEquals(dp, splitDp, threads + " threads, T = " + T);
+                assertArrayEquals(choice, splitChoice, threads + " threads, T = " + T);
+            }
+        }
+    }
+
+    /**
+     * Through the solver, a group solved on several threads reports the dense optimum.
+     */
+    @Test
+    void solverWithGroupThreadsReachesDenseOptimum() {
+        Random random = new Random(22);
+        int T = 4 * SplitCapacityKernel.MIN_WORDS_PER_THREAD * 64;
+        GroupItems group = DenseReference.randomGroup(random, 0, 40, 1000, T / 3);
+        ItemTable items = new ItemTable();
+        for (int i = 0; i < group.size(); i++) {
+            items.add(group.getValue(i), group.getWeight(i), 0);
+        }
+
+        KnapsackSolver solver = new KnapsackSolver(1, T, 0, items);
+        solver.setStrategy(GroupStrategy.DENSE_DP);
+        solver.setReduction(false);
+        solver.setGroupThreads(4);
+
+        DenseReference.assertOptimal(group, T, solver.solve().getGroupResults().get(0));
+    }
+}